@@ -0,0 +1,138 @@
+package com.yourproject.expensetracker.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourproject.expensetracker.events.DataChangeEvent;
+import com.yourproject.expensetracker.model.ChangeEntityType;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import com.yourproject.expensetracker.service.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Holds recently used users' transaction histories in columnar form, within a memory budget.
+ * A history is loaded on first use and then kept current by applying each committed change in
+ * version order. Any gap in the versions (a write that did not go through the change log, or a
+ * change that arrived while the history was loading) drops the copy. Writes on other instances
+ * never reach this one's listener, so every query also compares the copy with the user's data
+ * version, one primary-key read, and reloads a copy that is behind.
+ */
+@Component
+@ConditionalOnProperty(name = "analytics.enabled", havingValue = "true")
+public class AnalyticsEngine {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Changes touching more rows than this (large imports) drop the history instead of patching it
+    @Value("${analytics.max-applied-rows:10000}")
+    private int maxAppliedRows;
+
+    private final TransactionTemplate readOnly;
+    private final Cache<Long, ColumnarHistory> histories;
+    // Newest version seen per user, so a load that raced with a write is not cached
+    private final Cache<Long, Long> latestVersions = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
+    AnalyticsEngine(PlatformTransactionManager transactionManager,
+                    @Value("${analytics.memory-budget-mb:256}") long memoryBudgetMb) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Size-bounded by estimated bytes; Caffeine evicts the least valuable history first
+        this.histories = Caffeine.newBuilder()
+                .maximumWeight(memoryBudgetMb * 1024 * 1024)
+                .weigher((Long userId, ColumnarHistory history) -> (int) Math.min(history.estimatedBytes(), Integer.MAX_VALUE))
+                .recordStats()
+                .build();
+    }
+
+    ColumnarHistory history(Long userId) {
+        ColumnarHistory cached = histories.getIfPresent(userId);
+        if (cached != null && cached.getVersion() >= dataVersionService.getVersion(userId)) {
+            return cached;
+        }
+        return load(userId);
+    }
+
+    private ColumnarHistory load(Long userId) {
+        // Loaded outside the cache's lock so a long history never holds a monitor across the query
+        ColumnarHistory loaded = readOnly.execute(status -> {
+            long version = dataVersionService.getVersion(userId);
+            ColumnarHistory.Builder builder = ColumnarHistory.builder(1024);
+            try (Stream<Object[]> rows = transactionRepository.streamColumnsByUserId(userId)) {
+                rows.forEach(row -> builder.add((Long) row[0], ((LocalDate) row[1]).toEpochDay(),
+                        ColumnarHistory.toMinorUnits((BigDecimal) row[2]), (Long) row[3], row[4] == TransactionType.INCOME));
+            }
+            return builder.build(version);
+        });
+        if (!isBehind(userId, loaded)) {
+            histories.asMap().merge(userId, loaded,
+                    (existing, fresh) -> fresh.getVersion() >= existing.getVersion() ? fresh : existing);
+            // A change may have committed between the check and the put; its listener found nothing to patch
+            if (isBehind(userId, loaded)) {
+                histories.asMap().remove(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private boolean isBehind(Long userId, ColumnarHistory history) {
+        Long latest = latestVersions.getIfPresent(userId);
+        return latest != null && latest > history.getVersion();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(DataChangeEvent event) {
+        Long userId = event.getUserId();
+        latestVersions.asMap().merge(userId, event.getVersion(), Math::max);
+        // asMap() lookups are not counted in the cache's hit and miss statistics
+        if (!histories.asMap().containsKey(userId)) {
+            return;
+        }
+        if (event.getEntityType() != ChangeEntityType.TRANSACTION) {
+            histories.asMap().computeIfPresent(userId, (id, history) ->
+                    history.getVersion() + 1 == event.getVersion() ? history.atVersion(event.getVersion()) : null);
+            return;
+        }
+        if (event.getUpsertedIds().size() + event.getDeletedIds().size() > maxAppliedRows) {
+            histories.invalidate(userId);
+            return;
+        }
+
+        // The writer's resources are still bound here, so this read sees the committed rows
+        List<Transaction> current = event.getUpsertedIds().isEmpty() ? List.of()
+                : transactionRepository.findByUserIdAndIdIn(userId, event.getUpsertedIds());
+        List<Long> touched = new ArrayList<>(event.getUpsertedIds());
+        touched.addAll(event.getDeletedIds());
+        long[] removed = touched.stream().mapToLong(Long::longValue).toArray();
+        histories.asMap().computeIfPresent(userId, (id, history) -> history.getVersion() + 1 == event.getVersion()
+                ? history.applying(event.getVersion(), removed, current) : null);
+    }
+
+    public Cache<Long, ?> getNativeCache() {
+        return histories;
+    }
+
+    public long getMemoryBytes() {
+        return histories.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+}
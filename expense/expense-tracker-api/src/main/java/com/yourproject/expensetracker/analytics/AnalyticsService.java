@@ -0,0 +1,404 @@
+package com.yourproject.expensetracker.analytics;
+
+import com.yourproject.expensetracker.dto.SummaryBucketDto;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.service.CategoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Reporting queries answered from {@link AnalyticsEngine}'s columnar histories. Every query
+ * binary-searches its date range and then makes one pass over primitive arrays, accumulating
+ * long minor units; only the handful of result buckets is ever turned into BigDecimal. Ranges
+ * longer than {@code analytics.parallel-threshold} rows are split across the common pool.
+ */
+@Service
+@ConditionalOnProperty(name = "analytics.enabled", havingValue = "true")
+public class AnalyticsService {
+
+    @Autowired
+    private AnalyticsEngine engine;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Value("${analytics.parallel-threshold:200000}")
+    private int parallelThreshold;
+
+    @Value("${analytics.max-buckets:4000}")
+    private int maxBuckets;
+
+    /**
+     * Income and expense per day or month between the two dates, inclusive. Empty periods are
+     * included so a chart can plot the series as is.
+     */
+    public List<SummaryBucketDto> trend(Long userId, LocalDate from, LocalDate to, String granularity) {
+        ColumnarHistory history = engine.history(userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : YearMonth.from(end).minusMonths(11).atDay(1);
+        checkRange(start, end);
+
+        List<String> keys = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        if ("day".equals(granularity)) {
+            for (LocalDate day = start; !day.isAfter(end) && keys.size() <= maxBuckets; day = day.plusDays(1)) {
+                keys.add(day.toString());
+                starts.add((int) day.toEpochDay());
+            }
+        } else if (granularity == null || "month".equals(granularity)) {
+            for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)) && keys.size() <= maxBuckets;
+                 month = month.plusMonths(1)) {
+                keys.add(month.toString());
+                LocalDate first = month.atDay(1);
+                starts.add((int) (first.isBefore(start) ? start : first).toEpochDay());
+            }
+        } else {
+            throw new InvalidRequestException("granularity must be day or month");
+        }
+        if (keys.size() > maxBuckets) {
+            throw new InvalidRequestException("Range too long; at most " + maxBuckets + " buckets");
+        }
+
+        // boundaries[i] is the first day of bucket i; the last entry is one past the range
+        int[] boundaries = new int[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            boundaries[i] = starts.get(i);
+        }
+        boundaries[starts.size()] = (int) end.toEpochDay() + 1;
+
+        int lo = history.lowerBound(start.toEpochDay());
+        int hi = history.lowerBound(end.toEpochDay() + 1);
+        Totals totals = scan(lo, hi, keys.size(), (from0, to0) -> sumByPeriod(history, from0, to0, boundaries));
+
+        List<SummaryBucketDto> buckets = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            buckets.add(totals.toBucket(i, new SummaryBucketDto(keys.get(i))));
+        }
+        return buckets;
+    }
+
+    /**
+     * Income and expense per category between the two dates, largest expense first.
+     */
+    public List<SummaryBucketDto> categoryBreakdown(Long userId, LocalDate from, LocalDate to) {
+        ColumnarHistory history = engine.history(userId);
+        Totals totals = byCategory(history, from, to);
+        return categoryBuckets(userId, history, totals);
+    }
+
+    /**
+     * A month against the one before it: overall totals and per-category expense and income,
+     * each with the change in minor-unit precision.
+     */
+    public Map<String, Object> monthOverMonth(Long userId, YearMonth month) {
+        ColumnarHistory history = engine.history(userId);
+        YearMonth previous = month.minusMonths(1);
+        Totals current = byCategory(history, month.atDay(1), month.atEndOfMonth());
+        Totals before = byCategory(history, previous.atDay(1), previous.atEndOfMonth());
+
+        long[] categoryIds = history.categoryIds();
+        Map<Long, String> names = categoryService.resolveCategoryNames(userId,
+                Arrays.stream(categoryIds).boxed().toList());
+        List<Map<String, Object>> categories = new ArrayList<>();
+        for (int c = 0; c < categoryIds.length; c++) {
+            if (current.count[c] == 0 && before.count[c] == 0) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("categoryId", categoryIds[c]);
+            row.put("categoryName", names.get(categoryIds[c]));
+            row.put("expense", comparison(current.expense[c], before.expense[c]));
+            row.put("income", comparison(current.income[c], before.income[c]));
+            categories.add(row);
+        }
+        categories.sort(Comparator.comparing((Map<String, Object> row) ->
+                ((BigDecimal) ((Map<?, ?>) row.get("expense")).get("delta")).abs()).reversed());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("month", month.toString());
+        result.put("previousMonth", previous.toString());
+        result.put("expense", comparison(sum(current.expense), sum(before.expense)));
+        result.put("income", comparison(sum(current.income), sum(before.income)));
+        result.put("categories", categories);
+        return result;
+    }
+
+    /**
+     * The largest transactions of one type between the two dates. Descriptions are not held in
+     * memory, so they are left out.
+     */
+    public List<TransactionDto> top(Long userId, LocalDate from, LocalDate to, TransactionType type, int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new InvalidRequestException("Limit must be between 1 and 100");
+        }
+        ColumnarHistory history = engine.history(userId);
+        int lo = from != null ? history.lowerBound(from.toEpochDay()) : 0;
+        int hi = to != null ? history.lowerBound(to.toEpochDay() + 1) : history.size();
+        boolean wantIncome = type == TransactionType.INCOME;
+
+        int[] rows;
+        if (hi - lo >= parallelThreshold) {
+            int chunks = chunkCount(hi - lo);
+            int[] candidates = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> topRows(history, chunkStart(lo, hi, chunks, chunk),
+                            chunkStart(lo, hi, chunks, chunk + 1), wantIncome, limit))
+                    .flatMapToInt(Arrays::stream)
+                    .toArray();
+            rows = topOf(history, candidates, limit);
+        } else {
+            rows = topRows(history, lo, hi, wantIncome, limit);
+        }
+
+        Map<Long, String> names = categoryService.resolveCategoryNames(userId,
+                Arrays.stream(rows).mapToObj(row -> history.categoryIds()[history.categories()[row]]).toList());
+        List<TransactionDto> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            TransactionDto dto = new TransactionDto();
+            dto.setId(history.ids()[row]);
+            dto.setAmount(BigDecimal.valueOf(history.amounts()[row], 2));
+            dto.setDate(LocalDate.ofEpochDay(history.days()[row]));
+            dto.setCategoryId(history.categoryIds()[history.categories()[row]]);
+            dto.setCategoryName(names.get(dto.getCategoryId()));
+            dto.setType(type);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private Totals byCategory(ColumnarHistory history, LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            checkRange(from, to);
+        }
+        int lo = from != null ? history.lowerBound(from.toEpochDay()) : 0;
+        int hi = to != null ? history.lowerBound(to.toEpochDay() + 1) : history.size();
+        int categories = history.categoryIds().length;
+        return scan(lo, hi, categories, (start, end) -> {
+            Totals totals = new Totals(categories);
+            int[] category = history.categories();
+            long[] amounts = history.amounts();
+            boolean[] income = history.income();
+            for (int row = start; row < end; row++) {
+                totals.add(category[row], amounts[row], income[row]);
+            }
+            return totals;
+        });
+    }
+
+    private List<SummaryBucketDto> categoryBuckets(Long userId, ColumnarHistory history, Totals totals) {
+        long[] categoryIds = history.categoryIds();
+        Map<Long, String> names = categoryService.resolveCategoryNames(userId,
+                Arrays.stream(categoryIds).boxed().toList());
+        List<SummaryBucketDto> buckets = new ArrayList<>();
+        for (int c = 0; c < categoryIds.length; c++) {
+            if (totals.count[c] == 0) {
+                continue;
+            }
+            SummaryBucketDto bucket = totals.toBucket(c, new SummaryBucketDto(String.valueOf(categoryIds[c])));
+            bucket.setCategoryId(categoryIds[c]);
+            bucket.setCategoryName(names.get(categoryIds[c]));
+            buckets.add(bucket);
+        }
+        buckets.sort(Comparator.comparing(SummaryBucketDto::getExpense)
+                .thenComparing(SummaryBucketDto::getIncome).reversed());
+        return buckets;
+    }
+
+    private static Totals sumByPeriod(ColumnarHistory history, int start, int end, int[] boundaries) {
+        Totals totals = new Totals(boundaries.length - 1);
+        if (start >= end) {
+            return totals;
+        }
+        int[] days = history.days();
+        long[] amounts = history.amounts();
+        boolean[] income = history.income();
+        // Rows are in date order, so the bucket only ever moves forward
+        int bucket = Arrays.binarySearch(boundaries, days[start]);
+        bucket = bucket >= 0 ? bucket : -bucket - 2;
+        for (int row = start; row < end; row++) {
+            while (days[row] >= boundaries[bucket + 1]) {
+                bucket++;
+            }
+            totals.add(bucket, amounts[row], income[row]);
+        }
+        return totals;
+    }
+
+    /**
+     * Indexes of the {@code limit} largest rows of the given type in [start, end), largest first.
+     * Keeps a min-heap of row indexes ordered by amount.
+     */
+    private static int[] topRows(ColumnarHistory history, int start, int end, boolean wantIncome, int limit) {
+        long[] amounts = history.amounts();
+        boolean[] income = history.income();
+        int[] heap = new int[limit];
+        int size = 0;
+        for (int row = start; row < end; row++) {
+            if (income[row] != wantIncome) {
+                continue;
+            }
+            if (size < limit) {
+                heap[size] = row;
+                siftUp(heap, size++, amounts);
+            } else if (amounts[row] > amounts[heap[0]]) {
+                heap[0] = row;
+                siftDown(heap, size, amounts);
+            }
+        }
+        return sortDescending(Arrays.copyOf(heap, size), amounts);
+    }
+
+    private static int[] topOf(ColumnarHistory history, int[] candidates, int limit) {
+        int[] sorted = sortDescending(candidates, history.amounts());
+        return Arrays.copyOf(sorted, Math.min(limit, sorted.length));
+    }
+
+    private static int[] sortDescending(int[] rows, long[] amounts) {
+        // At most a few hundred entries: a simple insertion sort avoids boxing for a comparator
+        for (int i = 1; i < rows.length; i++) {
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= 0 && amounts[rows[j]] < amounts[row]) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+        return rows;
+    }
+
+    private static void siftUp(int[] heap, int index, long[] amounts) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (amounts[heap[parent]] <= amounts[heap[index]]) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, long[] amounts) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && amounts[heap[left]] < amounts[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && amounts[heap[right]] < amounts[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(heap, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    private Totals scan(int lo, int hi, int keys, RangeScan scan) {
+        if (hi - lo < parallelThreshold) {
+            return scan.apply(lo, hi);
+        }
+        int chunks = chunkCount(hi - lo);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scan.apply(chunkStart(lo, hi, chunks, chunk), chunkStart(lo, hi, chunks, chunk + 1)))
+                .reduce(new Totals(keys), Totals::merge);
+    }
+
+    private int chunkCount(int rows) {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), rows / Math.max(1, parallelThreshold / 4)));
+    }
+
+    private static int chunkStart(int lo, int hi, int chunks, int chunk) {
+        return lo + (int) ((long) (hi - lo) * chunk / chunks);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static Map<String, Object> comparison(long current, long previous) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("current", BigDecimal.valueOf(current, 2));
+        values.put("previous", BigDecimal.valueOf(previous, 2));
+        values.put("delta", BigDecimal.valueOf(current - previous, 2));
+        return values;
+    }
+
+    private interface RangeScan {
+        Totals apply(int start, int end);
+    }
+
+    /**
+     * Income, expense and row count per key, in minor units.
+     */
+    private static final class Totals {
+        private final long[] income;
+        private final long[] expense;
+        private final long[] count;
+
+        Totals(int keys) {
+            income = new long[keys];
+            expense = new long[keys];
+            count = new long[keys];
+        }
+
+        void add(int key, long amount, boolean isIncome) {
+            if (isIncome) {
+                income[key] += amount;
+            } else {
+                expense[key] += amount;
+            }
+            count[key]++;
+        }
+
+        Totals merge(Totals other) {
+            // A category seen only by a later chunk cannot exist: every chunk shares the history's dictionary
+            for (int key = 0; key < income.length; key++) {
+                income[key] += other.income[key];
+                expense[key] += other.expense[key];
+                count[key] += other.count[key];
+            }
+            return this;
+        }
+
+        SummaryBucketDto toBucket(int key, SummaryBucketDto bucket) {
+            bucket.setIncome(BigDecimal.valueOf(income[key], 2));
+            bucket.setExpense(BigDecimal.valueOf(expense[key], 2));
+            bucket.setTransactionCount(count[key]);
+            return bucket;
+        }
+    }
+}
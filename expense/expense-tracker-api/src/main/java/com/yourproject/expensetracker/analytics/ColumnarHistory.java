@@ -0,0 +1,273 @@
+package com.yourproject.expensetracker.analytics;
+
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's transactions as parallel primitive arrays, sorted by (epoch day, id): dates as
+ * epoch days, amounts as long minor units, categories as indexes into a small dictionary.
+ * Instances are immutable; a write produces a new instance via {@link #applying}.
+ */
+final class ColumnarHistory {
+
+    // Per row: id 8, day 4, amount 8, category 4, income flag 1; plus array and object headers
+    private static final int BYTES_PER_ROW = 25;
+    private static final int FIXED_BYTES = 256;
+
+    private final long version;
+    private final long[] ids;
+    private final int[] days;
+    private final long[] amounts;
+    private final int[] categories;
+    private final boolean[] income;
+    private final long[] categoryIds;
+
+    private ColumnarHistory(long version, long[] ids, int[] days, long[] amounts, int[] categories,
+                            boolean[] income, long[] categoryIds) {
+        this.version = version;
+        this.ids = ids;
+        this.days = days;
+        this.amounts = amounts;
+        this.categories = categories;
+        this.income = income;
+        this.categoryIds = categoryIds;
+    }
+
+    /**
+     * Collects rows in any order; {@link Builder#build} sorts them.
+     */
+    static Builder builder(int expectedRows) {
+        return new Builder(expectedRows, new long[0]);
+    }
+
+    /**
+     * A copy at {@code newVersion} without the rows in {@code removedIds} and with {@code added}
+     * merged in date order. Updates are a removal plus an addition of the same id.
+     */
+    ColumnarHistory applying(long newVersion, long[] removedIds, List<Transaction> added) {
+        long[] removed = removedIds.clone();
+        Arrays.sort(removed);
+        Transaction[] incoming = added.toArray(new Transaction[0]);
+        Arrays.sort(incoming, (a, b) -> {
+            int byDate = a.getDate().compareTo(b.getDate());
+            return byDate != 0 ? byDate : a.getId().compareTo(b.getId());
+        });
+
+        Builder builder = new Builder(ids.length + incoming.length, categoryIds);
+        int next = 0;
+        for (int row = 0; row < ids.length; row++) {
+            while (next < incoming.length && comesBefore(incoming[next], row)) {
+                builder.add(incoming[next++]);
+            }
+            if (Arrays.binarySearch(removed, ids[row]) < 0) {
+                builder.copy(this, row);
+            }
+        }
+        while (next < incoming.length) {
+            builder.add(incoming[next++]);
+        }
+        return builder.build(newVersion);
+    }
+
+    /**
+     * The same rows at a later version, for changes that did not touch transactions.
+     */
+    ColumnarHistory atVersion(long newVersion) {
+        return new ColumnarHistory(newVersion, ids, days, amounts, categories, income, categoryIds);
+    }
+
+    private boolean comesBefore(Transaction transaction, int row) {
+        long day = transaction.getDate().toEpochDay();
+        return day < days[row] || (day == days[row] && transaction.getId() < ids[row]);
+    }
+
+    /**
+     * First row on or after {@code day}.
+     */
+    int lowerBound(long day) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long getVersion() { return version; }
+
+    int size() { return ids.length; }
+
+    long[] ids() { return ids; }
+
+    int[] days() { return days; }
+
+    long[] amounts() { return amounts; }
+
+    int[] categories() { return categories; }
+
+    boolean[] income() { return income; }
+
+    long[] categoryIds() { return categoryIds; }
+
+    long estimatedBytes() {
+        return FIXED_BYTES + (long) ids.length * BYTES_PER_ROW + categoryIds.length * 8L;
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    static final class Builder {
+        private long[] ids;
+        private int[] days;
+        private long[] amounts;
+        private int[] categories;
+        private boolean[] income;
+        private final Map<Long, Integer> dictionary = new HashMap<>();
+        private long[] categoryIds;
+        private int size;
+
+        private boolean sorted = true;
+
+        Builder(int capacity, long[] existingCategoryIds) {
+            capacity = Math.max(capacity, 16);
+            ids = new long[capacity];
+            days = new int[capacity];
+            amounts = new long[capacity];
+            categories = new int[capacity];
+            income = new boolean[capacity];
+            // Keeping the existing dictionary lets copy() reuse category indexes as they are
+            categoryIds = existingCategoryIds.clone();
+            for (int i = 0; i < categoryIds.length; i++) {
+                dictionary.put(categoryIds[i], i);
+            }
+        }
+
+        void add(Transaction transaction) {
+            add(transaction.getId(), transaction.getDate().toEpochDay(), toMinorUnits(transaction.getAmount()),
+                    transaction.getCategoryId(), transaction.getType() == TransactionType.INCOME);
+        }
+
+        void add(long id, long epochDay, long amount, Long categoryId, boolean isIncome) {
+            if (size == ids.length) {
+                grow();
+            }
+            if (size > 0 && (epochDay < days[size - 1] || (epochDay == days[size - 1] && id < ids[size - 1]))) {
+                sorted = false;
+            }
+            ids[size] = id;
+            days[size] = (int) epochDay;
+            amounts[size] = amount;
+            categories[size] = categoryIndex(categoryId);
+            income[size] = isIncome;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            days = Arrays.copyOf(days, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            income = Arrays.copyOf(income, capacity);
+        }
+
+        void copy(ColumnarHistory source, int row) {
+            ids[size] = source.ids[row];
+            days[size] = source.days[row];
+            amounts[size] = source.amounts[row];
+            categories[size] = source.categories[row];
+            income[size] = source.income[row];
+            size++;
+        }
+
+        private int categoryIndex(Long categoryId) {
+            Integer index = dictionary.get(categoryId);
+            if (index == null) {
+                index = categoryIds.length;
+                categoryIds = Arrays.copyOf(categoryIds, index + 1);
+                categoryIds[index] = categoryId;
+                dictionary.put(categoryId, index);
+            }
+            return index;
+        }
+
+        ColumnarHistory build(long version) {
+            if (!sorted) {
+                sort();
+            }
+            if (size == ids.length) {
+                return new ColumnarHistory(version, ids, days, amounts, categories, income, categoryIds);
+            }
+            return new ColumnarHistory(version, Arrays.copyOf(ids, size), Arrays.copyOf(days, size),
+                    Arrays.copyOf(amounts, size), Arrays.copyOf(categories, size), Arrays.copyOf(income, size),
+                    categoryIds);
+        }
+
+        private void sort() {
+            // Rows usually arrive newest first (the repository's order), so try a reversal first
+            boolean descending = true;
+            for (int i = 1; i < size && descending; i++) {
+                descending = days[i] < days[i - 1] || (days[i] == days[i - 1] && ids[i] < ids[i - 1]);
+            }
+            if (descending) {
+                for (int i = 0, j = size - 1; i < j; i++, j--) {
+                    swap(i, j);
+                }
+                return;
+            }
+            // Otherwise sort a permutation by (day, id) and gather every column through it
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> days[a] != days[b] ? Integer.compare(days[a], days[b]) : Long.compare(ids[a], ids[b]));
+            long[] sortedIds = new long[size];
+            int[] sortedDays = new int[size];
+            long[] sortedAmounts = new long[size];
+            int[] sortedCategories = new int[size];
+            boolean[] sortedIncome = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                int from = order[i];
+                sortedIds[i] = ids[from];
+                sortedDays[i] = days[from];
+                sortedAmounts[i] = amounts[from];
+                sortedCategories[i] = categories[from];
+                sortedIncome[i] = income[from];
+            }
+            ids = sortedIds;
+            days = sortedDays;
+            amounts = sortedAmounts;
+            categories = sortedCategories;
+            income = sortedIncome;
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            int day = days[i];
+            days[i] = days[j];
+            days[j] = day;
+            long amount = amounts[i];
+            amounts[i] = amounts[j];
+            amounts[j] = amount;
+            int category = categories[i];
+            categories[i] = categories[j];
+            categories[j] = category;
+            boolean isIncome = income[i];
+            income[i] = income[j];
+            income[j] = isIncome;
+        }
+    }
+}
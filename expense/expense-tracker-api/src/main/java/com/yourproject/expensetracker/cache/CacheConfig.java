@@ -0,0 +1,65 @@
+package com.yourproject.expensetracker.cache;
+
+import com.yourproject.expensetracker.model.Budget;
+import com.yourproject.expensetracker.model.User;
+import com.yourproject.expensetracker.service.UserCategories;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * {@code jdbc} shares invalidations with every instance on the same database; {@code local}
+     * only reaches this JVM and suits a single instance.
+     */
+    @Bean
+    public CacheInvalidationChannel cacheInvalidationChannel(
+            JdbcTemplate jdbcTemplate,
+            @Value("${cache.invalidation.channel:jdbc}") String channel,
+            @Value("${cache.invalidation.lookback-ms:10000}") long lookbackMs,
+            @Value("${cache.invalidation.retention-ms:600000}") long retentionMs) {
+        if ("local".equalsIgnoreCase(channel)) {
+            return new LocalCacheInvalidationChannel();
+        }
+        return new JdbcCacheInvalidationChannel(jdbcTemplate, lookbackMs, retentionMs);
+    }
+
+    /**
+     * A user's custom categories and overrides of the built-in ones, keyed by user id.
+     */
+    @Bean
+    public InvalidatingCache<Long, UserCategories> categoryCache(
+            CacheInvalidationChannel channel,
+            @Value("${cache.categories.max-size:10000}") long maxSize,
+            @Value("${cache.categories.ttl-seconds:600}") long ttlSeconds) {
+        return new InvalidatingCache<>("categories", maxSize, Duration.ofSeconds(ttlSeconds), channel);
+    }
+
+    /**
+     * Users keyed by username, for login and for tokens that predate the user id claim.
+     */
+    @Bean
+    public InvalidatingCache<String, User> userCache(
+            CacheInvalidationChannel channel,
+            @Value("${cache.users.max-size:10000}") long maxSize,
+            @Value("${cache.users.ttl-seconds:300}") long ttlSeconds) {
+        return new InvalidatingCache<>("users", maxSize, Duration.ofSeconds(ttlSeconds), channel);
+    }
+
+    /**
+     * A user's budgets, keyed by user id, so a transaction write by a user without budgets costs
+     * no query. The alert state on the cached rows is not kept current and must not be read.
+     */
+    @Bean
+    public InvalidatingCache<Long, List<Budget>> budgetCache(
+            CacheInvalidationChannel channel,
+            @Value("${cache.budgets.max-size:10000}") long maxSize,
+            @Value("${cache.budgets.ttl-seconds:600}") long ttlSeconds) {
+        return new InvalidatingCache<>("budgets", maxSize, Duration.ofSeconds(ttlSeconds), channel);
+    }
+}
@@ -0,0 +1,19 @@
+package com.yourproject.expensetracker.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations to every API instance, including the one that published them.
+ * {@link JdbcCacheInvalidationChannel} reaches other instances through the database within about
+ * a poll interval; {@link LocalCacheInvalidationChannel} only reaches the current JVM, and with it
+ * the caches' TTL bounds how stale another instance can get.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Keys must survive serialization, so use ids and usernames rather than entities.
+     */
+    void publish(String cacheName, Object key);
+
+    void subscribe(String cacheName, Consumer<Object> listener);
+}
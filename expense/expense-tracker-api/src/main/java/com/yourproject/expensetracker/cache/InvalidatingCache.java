@@ -0,0 +1,83 @@
+package com.yourproject.expensetracker.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, expiring read-through cache whose entries are dropped through a
+ * {@link CacheInvalidationChannel}, so a write on one instance evicts the entry everywhere.
+ * Cached values are shared between threads and must be treated as read-only.
+ */
+public class InvalidatingCache<K, V> {
+
+    private final String name;
+    private final Cache<K, V> cache;
+    private final CacheInvalidationChannel channel;
+
+    // Bumped on every local eviction. A load that overlapped an eviction may have read the old
+    // row, so its result is returned but not cached.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public InvalidatingCache(String name, long maxSize, Duration ttl, CacheInvalidationChannel channel) {
+        this.name = name;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        channel.subscribe(name, key -> evictLocally((K) key));
+    }
+
+    /**
+     * Returns the cached value or loads it. The loader runs outside Caffeine's own locking, which
+     * is {@code synchronized} and would pin a virtual thread for the whole query; concurrent misses
+     * for one key may therefore each load it. A null result is not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long seen = invalidations.get();
+        value = loader.apply(key);
+        if (value != null && invalidations.get() == seen) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Evicts the key on every instance. Inside a transaction this waits for the commit, so no
+     * reader can reload the old row after the eviction.
+     */
+    public void invalidate(K key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    channel.publish(name, key);
+                }
+            });
+        } else {
+            channel.publish(name, key);
+        }
+    }
+
+    private void evictLocally(K key) {
+        invalidations.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public String getName() { return name; }
+
+    public Cache<K, V> getNativeCache() { return cache; }
+
+    public long getInvalidationCount() { return invalidations.get(); }
+}
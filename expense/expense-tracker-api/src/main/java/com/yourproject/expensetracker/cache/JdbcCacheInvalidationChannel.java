@@ -0,0 +1,110 @@
+package com.yourproject.expensetracker.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Shares invalidations between instances through the {@code cache_invalidations} table. A publish
+ * is delivered to this JVM's subscribers at once and inserted as a row; every instance polls the
+ * table and delivers the rows other instances wrote. Another instance therefore serves a stale
+ * entry for at most about one poll interval, rather than until the entry's TTL runs out.
+ *
+ * <p>Ids are assigned at insert but rows become visible at commit, so a poll can see a row
+ * before one with a lower id. Each poll therefore re-reads every row from the last
+ * {@code lookback} and skips the ids it has already delivered, instead of reading past the
+ * highest id seen. Delivering an invalidation twice only costs a cache miss.
+ */
+public class JdbcCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcCacheInvalidationChannel.class);
+
+    private static final String LONG_KEY = "LONG";
+    private static final String STRING_KEY = "STRING";
+
+    private final Map<String, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbc;
+    private final long lookbackMs;
+    private final long retentionMs;
+    private final String origin = UUID.randomUUID().toString();
+
+    // Row id -> when this instance first saw it; pruned once the row has left the lookback window
+    private final Map<Long, Long> delivered = new ConcurrentHashMap<>();
+
+    public JdbcCacheInvalidationChannel(JdbcTemplate jdbc, long lookbackMs, long retentionMs) {
+        this.jdbc = jdbc;
+        this.lookbackMs = lookbackMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @Override
+    public void publish(String cacheName, Object key) {
+        String keyType;
+        if (key instanceof Long) {
+            keyType = LONG_KEY;
+        } else if (key instanceof String) {
+            keyType = STRING_KEY;
+        } else {
+            throw new IllegalArgumentException("Cache keys must be ids or strings, not " + key.getClass().getName());
+        }
+        deliver(cacheName, key);
+        try {
+            jdbc.update("INSERT INTO cache_invalidations (cache_name, cache_key, key_type, origin, created_at)"
+                    + " VALUES (?, ?, ?, ?, ?)", cacheName, key.toString(), keyType, origin, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // The write is already committed; other instances fall back to the cache's TTL
+            log.warn("Could not share invalidation of {} in cache {}", key, cacheName, e);
+        }
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<Object> listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Delivers the invalidations other instances have published since the previous polls.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> rows;
+        try {
+            rows = jdbc.queryForList("SELECT id, cache_name, cache_key, key_type, origin FROM cache_invalidations"
+                    + " WHERE created_at >= ? ORDER BY id", now - lookbackMs);
+        } catch (RuntimeException e) {
+            log.warn("Could not read cache invalidations: {}", e.getMessage());
+            return;
+        }
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            if (delivered.putIfAbsent(id, now) != null || origin.equals(row.get("origin"))) {
+                continue;
+            }
+            String key = (String) row.get("cache_key");
+            deliver((String) row.get("cache_name"), LONG_KEY.equals(row.get("key_type")) ? (Object) Long.valueOf(key) : key);
+        }
+        // Kept for twice the window, so a publisher whose clock runs a little behind is not redelivered
+        delivered.values().removeIf(seenAt -> seenAt < now - 2 * lookbackMs);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.cleanup-interval-ms:60000}")
+    public void purge() {
+        try {
+            jdbc.update("DELETE FROM cache_invalidations WHERE created_at < ?", System.currentTimeMillis() - retentionMs);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(String cacheName, Object key) {
+        listeners.getOrDefault(cacheName, List.of()).forEach(listener -> listener.accept(key));
+    }
+}
@@ -1,5 +1,10 @@
 package com.yourproject.expensetracker.config;
 
+import com.yourproject.expensetracker.model.User;
+import com.yourproject.expensetracker.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,39 +17,90 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    // EventSource cannot send an Authorization header, so the stream takes a single-use ticket in
+    // the URL instead. The bearer token itself is never accepted from the URL.
+    private static final String EVENT_STREAM_PATH = "/api/events";
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StreamTickets streamTickets;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer authenticatedTimer;
+    private Timer rejectedTimer;
+    private Timer anonymousTimer;
+
+    @PostConstruct
+    void initMetrics() {
+        authenticatedTimer = filterTimer("authenticated");
+        rejectedTimer = filterTimer("rejected");
+        anonymousTimer = filterTimer("anonymous");
+    }
+
+    private Timer filterTimer(String outcome) {
+        return Timer.builder("jwt.filter")
+                .description("Time spent authenticating the bearer token, excluding the rest of the chain")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain chain) throws ServletException, IOException {
+        long started = System.nanoTime();
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
         String jwtToken = null;
-
+        String ticket = null;
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
+        } else if (requestTokenHeader == null && EVENT_STREAM_PATH.equals(request.getServletPath())
+                && "GET".equals(request.getMethod())) {
+            ticket = request.getParameter("ticket");
+        }
+
+        UserPrincipal principal = null;
+
+        if (ticket != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            principal = streamTickets.redeem(ticket);
+        } else if (jwtToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                principal = jwtUtil.authenticate(jwtToken);
             } catch (Exception e) {
                 logger.warn("JWT Token validation failed", e);
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwtToken, username)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (principal != null && principal.getId() == null) {
+            // Token issued before the id claim existed
+            User user = userService.findByUsername(principal.getUsername());
+            principal = user != null ? new UserPrincipal(user.getId(), principal.getUsername()) : null;
         }
+
+        if (principal != null) {
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+
+        Timer timer = principal != null ? authenticatedTimer
+                : requestTokenHeader != null || ticket != null ? rejectedTimer : anonymousTimer;
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.yourproject.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers tokens whose signature has already been verified, so a client repeating the
+ * same bearer token skips the HMAC check. Entries are dropped once the token expires and
+ * the map never holds more than {@code jwt.cache.max-size} tokens.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JwtTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                         @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+    }
+
+    public UserPrincipal get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            if (entries.remove(token, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    public void put(String token, UserPrincipal principal, long expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(token, new Entry(principal, expiresAt));
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAt <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        // Still full of live tokens: drop an arbitrary tenth rather than refusing new ones
+        Iterator<String> keys = entries.keySet().iterator();
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        while (toDrop-- > 0 && keys.hasNext() && entries.size() >= maxSize) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public long getHitCount() { return hits.sum(); }
+
+    public long getMissCount() { return misses.sum(); }
+
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public int size() { return entries.size(); }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.yourproject.expensetracker.config;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
@@ -10,39 +12,72 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Autowired
+    private JwtTokenCache tokenCache;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        // Both are immutable and thread-safe, so build them once instead of per call
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public String generateToken(String username) {
+    public String generateToken(String username, Long userId) {
         return Jwts.builder()
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token with a single parse and returns who it belongs to. The user id is
+     * null for tokens issued before it was carried as a claim.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public UserPrincipal authenticate(String token) {
+        UserPrincipal cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = extractClaims(token);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        UserPrincipal principal = new UserPrincipal(userId != null ? userId.longValue() : null, claims.getSubject());
+        if (claims.getExpiration() != null) {
+            tokenCache.put(token, principal, claims.getExpiration().getTime());
+        }
+        return principal;
+    }
+
     public String extractUsername(String token) {
         return extractClaims(token).getSubject();
     }
 
+    public Long extractUserId(String token) {
+        Number userId = extractClaims(token).get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
     public Date extractExpiration(String token) {
         return extractClaims(token).getExpiration();
     }
 
     private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean isTokenExpired(String token) {
@@ -50,7 +85,7 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package com.yourproject.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Issues and redeems the tickets that authenticate a change stream in place of the bearer token,
+ * which would otherwise have to travel in the URL and end up in access and debug logs. A ticket
+ * expires after {@code events.ticket-ttl-ms} and opens one connection; the delete that redeems it
+ * is what makes it single-use, across instances too.
+ */
+@Component
+public class StreamTickets {
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${events.ticket-ttl-ms:30000}")
+    private long ttlMs;
+
+    public String issue(UserPrincipal principal) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        jdbcTemplate.update("INSERT INTO stream_tickets (ticket, user_id, username, expires_at) VALUES (?, ?, ?, ?)",
+                ticket, principal.getId(), principal.getUsername(), System.currentTimeMillis() + ttlMs);
+        return ticket;
+    }
+
+    /**
+     * Returns the ticket's user and consumes the ticket, or null if it is unknown, expired or
+     * already used.
+     */
+    public UserPrincipal redeem(String ticket) {
+        List<UserPrincipal> owners = jdbcTemplate.query(
+                "SELECT user_id, username FROM stream_tickets WHERE ticket = ? AND expires_at > ?",
+                (rs, row) -> new UserPrincipal(rs.getLong("user_id"), rs.getString("username")),
+                ticket, System.currentTimeMillis());
+        if (owners.isEmpty()) {
+            return null;
+        }
+        // Of two concurrent redeems only one deletes the row
+        return jdbcTemplate.update("DELETE FROM stream_tickets WHERE ticket = ?", ticket) == 1 ? owners.get(0) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${events.ticket-cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM stream_tickets WHERE expires_at <= ?", System.currentTimeMillis());
+    }
+
+    public long getTtlMs() { return ttlMs; }
+}
@@ -0,0 +1,23 @@
+package com.yourproject.expensetracker.config;
+
+import java.security.Principal;
+
+public class UserPrincipal implements Principal {
+    private final Long id;
+    private final String username;
+
+    public UserPrincipal(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public Long getId() { return id; }
+
+    public String getUsername() { return username; }
+
+    @Override
+    public String getName() { return username; }
+
+    @Override
+    public String toString() { return username; }
+}
@@ -0,0 +1,68 @@
+package com.yourproject.expensetracker.controller;
+
+import com.yourproject.expensetracker.analytics.AnalyticsService;
+import com.yourproject.expensetracker.config.UserPrincipal;
+import com.yourproject.expensetracker.dto.SummaryBucketDto;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.model.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports served from the in-memory analytics engine. Only registered when
+ * {@code analytics.enabled=true}.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@ConditionalOnProperty(name = "analytics.enabled", havingValue = "true")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @GetMapping("/trend")
+    public ResponseEntity<List<SummaryBucketDto>> getTrend(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String granularity,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(analyticsService.trend(principal.getId(), from, to, granularity));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<SummaryBucketDto>> getCategoryBreakdown(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(analyticsService.categoryBreakdown(principal.getId(), from, to));
+    }
+
+    @GetMapping("/month-over-month")
+    public ResponseEntity<Map<String, Object>> getMonthOverMonth(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(analyticsService.monthOverMonth(principal.getId(),
+                month != null ? month : YearMonth.now()));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<TransactionDto>> getTop(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "EXPENSE") TransactionType type,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(analyticsService.top(principal.getId(), from, to, type, limit));
+    }
+}
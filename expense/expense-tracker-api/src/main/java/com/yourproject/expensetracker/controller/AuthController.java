@@ -4,53 +4,106 @@ import com.yourproject.expensetracker.config.JwtUtil;
 import com.yourproject.expensetracker.dto.LoginRequest;
 import com.yourproject.expensetracker.dto.RegisterRequest;
 import com.yourproject.expensetracker.dto.UserDto;
+import com.yourproject.expensetracker.exception.ServiceBusyException;
 import com.yourproject.expensetracker.model.User;
+import com.yourproject.expensetracker.service.PasswordHasher;
 import com.yourproject.expensetracker.service.UserService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
         try {
-            UserDto user = userService.registerUser(request);
-            return ResponseEntity.ok(user);
+            userService.checkAvailable(request);
         } catch (RuntimeException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
+            return CompletableFuture.completedFuture(badRequest(e.getMessage()));
         }
+
+        // Hashing runs on the password pool; the insert continues on the regular task executor
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(passwordHash -> {
+            try {
+                UserDto user = userService.registerUser(request, passwordHash);
+                return ResponseEntity.ok(user);
+            } catch (RuntimeException e) {
+                return badRequest(e.getMessage());
+            }
+        }, taskExecutor);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
         User user = userService.findByUsername(request.getUsername());
-        
-        if (user == null || !userService.validatePassword(request.getPassword(), user.getPasswordHash())) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Invalid username or password");
-            return ResponseEntity.badRequest().body(error);
+        if (user == null) {
+            return CompletableFuture.completedFuture(badRequest("Invalid username or password"));
         }
 
-        String token = jwtUtil.generateToken(user.getUsername());
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        response.put("user", new UserDto(user.getId(), user.getUsername(), user.getEmail()));
-        
-        return ResponseEntity.ok(response);
+        return passwordHasher.matches(request.getPassword(), user.getPasswordHash()).thenApplyAsync(matches -> {
+            if (!matches) {
+                return badRequest("Invalid username or password");
+            }
+            if (passwordHasher.needsRehash(user.getPasswordHash())) {
+                rehash(user, request.getPassword());
+            }
+
+            String token = jwtUtil.generateToken(user.getUsername(), user.getId());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("token", token);
+            response.put("user", new UserDto(user.getId(), user.getUsername(), user.getEmail()));
+
+            return ResponseEntity.ok(response);
+        }, taskExecutor);
+    }
+
+    /**
+     * Re-hashes with the current work factor after a successful login. Best effort: if the pool
+     * is busy the upgrade simply happens on a later login.
+     */
+    private void rehash(User user, String rawPassword) {
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAcceptAsync(newHash -> userService.updatePasswordHash(user, newHash),
+                            taskExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Could not upgrade password hash for user {}", user.getId(), e);
+                        return null;
+                    });
+        } catch (ServiceBusyException e) {
+            log.debug("Skipping password hash upgrade for user {}, hashing pool is busy", user.getId());
+        }
+    }
+
+    private ResponseEntity<?> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
     }
-}
\ No newline at end of file
+}
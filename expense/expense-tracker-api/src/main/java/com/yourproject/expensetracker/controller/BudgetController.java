@@ -0,0 +1,64 @@
+package com.yourproject.expensetracker.controller;
+
+import com.yourproject.expensetracker.config.UserPrincipal;
+import com.yourproject.expensetracker.dto.BudgetAlertDto;
+import com.yourproject.expensetracker.dto.BudgetDto;
+import com.yourproject.expensetracker.service.BudgetService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+public class BudgetController {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @GetMapping
+    public ResponseEntity<List<BudgetDto>> getBudgets(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(budgetService.getUserBudgets(principal.getId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<BudgetDto> createBudget(@Valid @RequestBody BudgetDto budgetDto,
+                                                  @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(budgetService.createBudget(principal.getId(), budgetDto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<BudgetDto> updateBudget(@PathVariable Long id, @Valid @RequestBody BudgetDto budgetDto,
+                                                  @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(budgetService.updateBudget(principal.getId(), id, budgetDto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+        budgetService.deleteBudget(principal.getId(), id);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * The user's latest budget alerts, newest first.
+     */
+    @GetMapping("/alerts")
+    public ResponseEntity<List<BudgetAlertDto>> getAlerts(@RequestParam(defaultValue = "false") boolean unread,
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(budgetService.getAlerts(principal.getId(), unread));
+    }
+
+    @PostMapping("/alerts/{id}/read")
+    public ResponseEntity<Void> markAlertRead(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+        budgetService.markAlertRead(principal.getId(), id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/alerts/read")
+    public ResponseEntity<Void> markAllAlertsRead(@AuthenticationPrincipal UserPrincipal principal) {
+        budgetService.markAllAlertsRead(principal.getId());
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,12 +1,15 @@
 package com.yourproject.expensetracker.controller;
 
+import com.yourproject.expensetracker.config.UserPrincipal;
 import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
 import com.yourproject.expensetracker.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -16,22 +19,36 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ConditionalReads conditionalReads;
+
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getCategories(Authentication authentication) {
-        List<CategoryDto> categories = categoryService.getUserCategories(authentication.getName());
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryDto>> getCategories(@AuthenticationPrincipal UserPrincipal principal,
+                                                           WebRequest request) {
+        Long userId = principal.getId();
+        return conditionalReads.respond(userId, request, () -> categoryService.getUserCategories(userId));
     }
 
     @PostMapping
     public ResponseEntity<CategoryDto> createCategory(@Valid @RequestBody CategoryDto categoryDto, 
-                                                     Authentication authentication) {
-        CategoryDto createdCategory = categoryService.createCategory(authentication.getName(), categoryDto);
+                                                     @AuthenticationPrincipal UserPrincipal principal) {
+        CategoryDto createdCategory = categoryService.createCategory(principal.getId(), categoryDto);
         return ResponseEntity.ok(createdCategory);
     }
 
+    @PutMapping("/{id}")
+    public ResponseEntity<CategoryDto> renameCategory(@PathVariable Long id, @RequestBody CategoryDto categoryDto,
+                                                     @AuthenticationPrincipal UserPrincipal principal) {
+        String name = categoryDto.getName() != null ? categoryDto.getName().trim() : "";
+        if (name.isEmpty() || name.length() > 100) {
+            throw new InvalidRequestException("Category name is required and must be at most 100 characters");
+        }
+        return ResponseEntity.ok(categoryService.renameCategory(principal.getId(), id, name));
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id, Authentication authentication) {
-        categoryService.deleteCategory(authentication.getName(), id);
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+        categoryService.deleteCategory(principal.getId(), id);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.yourproject.expensetracker.controller;
+
+import com.yourproject.expensetracker.config.UserPrincipal;
+import com.yourproject.expensetracker.dto.ChangeSetDto;
+import com.yourproject.expensetracker.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ConditionalReads conditionalReads;
+
+    /**
+     * Incremental sync. Call without {@code since} to get a starting cursor, load everything,
+     * then poll with the returned cursor; repeat at once while {@code hasMore} is set.
+     */
+    @GetMapping
+    public ResponseEntity<ChangeSetDto> getChanges(@RequestParam(required = false) String since,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @AuthenticationPrincipal UserPrincipal principal,
+                                                   WebRequest request) {
+        Long userId = principal.getId();
+        return conditionalReads.respond(userId, request, () -> changeFeedService.getChanges(userId, since, limit));
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourproject.expensetracker.controller;
+
+import com.yourproject.expensetracker.service.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for reads that only change when the user's data version does. A matching
+ * {@code If-None-Match} is answered with 304 after a single primary-key lookup; the body is only
+ * built on a miss. The version is read before the body, so a write racing with the read can only
+ * leave the client with an older tag, which costs one extra full response, never a stale one.
+ * Both run in one read-only transaction, so with replicas enabled they read the same database.
+ */
+@Component
+class ConditionalReads {
+
+    // Browsers may keep these privately but must revalidate before every reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private final TransactionTemplate readOnly;
+
+    ConditionalReads(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    <T> ResponseEntity<T> respond(Long userId, WebRequest request, Supplier<T> body) {
+        return readOnly.execute(status -> {
+            String etag = dataVersionService.getETag(userId);
+            if (request.checkNotModified(etag)) {
+                // checkNotModified has already written the 304 status and the ETag header
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).<T>build();
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.yourproject.expensetracker.controller;
+
+import com.yourproject.expensetracker.config.StreamTickets;
+import com.yourproject.expensetracker.config.UserPrincipal;
+import com.yourproject.expensetracker.events.ChangeStreamHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private ChangeStreamHub changeStreamHub;
+
+    @Autowired
+    private StreamTickets streamTickets;
+
+    /**
+     * The signed-in user's change stream. EventSource cannot set headers, so a browser opens it
+     * with a {@code ticket} query parameter obtained from {@link #issueTicket} instead.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@AuthenticationPrincipal UserPrincipal principal) {
+        return changeStreamHub.subscribe(principal.getId());
+    }
+
+    /**
+     * A single-use ticket for opening the caller's change stream, valid for a few seconds.
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<Map<String, Object>> issueTicket(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(Map.of("ticket", streamTickets.issue(principal), "expiresInMs", streamTickets.getTtlMs()));
+    }
+}
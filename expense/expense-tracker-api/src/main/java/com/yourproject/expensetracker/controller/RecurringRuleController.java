@@ -0,0 +1,42 @@
+package com.yourproject.expensetracker.controller;
+
+import com.yourproject.expensetracker.config.UserPrincipal;
+import com.yourproject.expensetracker.dto.RecurringRuleDto;
+import com.yourproject.expensetracker.service.RecurringRuleService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-rules")
+public class RecurringRuleController {
+
+    @Autowired
+    private RecurringRuleService recurringRuleService;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringRuleDto>> getRules(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(recurringRuleService.getUserRules(principal.getId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringRuleDto> createRule(@Valid @RequestBody RecurringRuleDto ruleDto,
+                                                       @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(recurringRuleService.createRule(principal.getId(), ruleDto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<RecurringRuleDto> updateRule(@PathVariable Long id, @Valid @RequestBody RecurringRuleDto ruleDto,
+                                                       @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(recurringRuleService.updateRule(principal.getId(), id, ruleDto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+        recurringRuleService.deleteRule(principal.getId(), id);
+        return ResponseEntity.ok().build();
+    }
+}
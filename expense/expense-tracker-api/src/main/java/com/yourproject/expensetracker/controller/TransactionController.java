@@ -1,14 +1,39 @@
 package com.yourproject.expensetracker.controller;
 
+import com.yourproject.expensetracker.config.UserPrincipal;
+import com.yourproject.expensetracker.dto.BatchOperationDto;
+import com.yourproject.expensetracker.dto.BatchResultDto;
+import com.yourproject.expensetracker.dto.ImportResultDto;
 import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.service.TransactionBatchService;
+import com.yourproject.expensetracker.service.TransactionExportService;
+import com.yourproject.expensetracker.service.TransactionFilter;
+import com.yourproject.expensetracker.service.TransactionImportService;
 import com.yourproject.expensetracker.service.TransactionService;
+import com.yourproject.expensetracker.service.TransactionSort;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -17,36 +42,161 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private ConditionalReads conditionalReads;
+
     @GetMapping
-    public ResponseEntity<List<TransactionDto>> getTransactions(Authentication authentication) {
-        List<TransactionDto> transactions = transactionService.getUserTransactions(authentication.getName());
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<?> getTransactions(@RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String cursor,
+                                             @AuthenticationPrincipal UserPrincipal principal,
+                                             WebRequest request) {
+        Long userId = principal.getId();
+        if (limit == null && cursor == null) {
+            return conditionalReads.respond(userId, request, () -> transactionService.getUserTransactions(userId));
+        }
+        return conditionalReads.respond(userId, request,
+                () -> transactionService.getUserTransactionPage(userId, limit, cursor));
+    }
+
+    /**
+     * Filtered, sorted and keyset-paged. Every criterion is optional; categoryId may repeat.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Set<Long> categoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest request) {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setType(type);
+        filter.setCategoryIds(categoryId);
+        filter.setMinAmount(minAmount);
+        filter.setMaxAmount(maxAmount);
+        filter.setSort(TransactionSort.parse(sort));
+
+        Long userId = principal.getId();
+        return conditionalReads.respond(userId, request,
+                () -> transactionService.searchTransactions(userId, filter, limit, cursor));
     }
 
     @PostMapping
     public ResponseEntity<TransactionDto> createTransaction(@Valid @RequestBody TransactionDto transactionDto,
-                                                           Authentication authentication) {
-        TransactionDto createdTransaction = transactionService.createTransaction(authentication.getName(), transactionDto);
+                                                           @AuthenticationPrincipal UserPrincipal principal) {
+        TransactionDto createdTransaction = transactionService.createTransaction(principal.getId(), transactionDto);
         return ResponseEntity.ok(createdTransaction);
     }
 
+    /**
+     * All-or-nothing: 200 when every operation was applied, 400 with the reasons when none was.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> applyBatch(@RequestBody List<BatchOperationDto> operations,
+                                                     @AuthenticationPrincipal UserPrincipal principal) {
+        BatchResultDto result = transactionBatchService.apply(principal.getId(), operations);
+        return result.isApplied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResultDto> importTransactions(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              InputStream body,
+                                                              @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        TransactionImportService.Format format = contentType.getSubtype().equalsIgnoreCase("csv")
+                ? TransactionImportService.Format.CSV
+                : TransactionImportService.Format.NDJSON;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        ImportResultDto result = transactionImportService.importTransactions(principal.getId(), reader, format);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip,
+                                                                    @AuthenticationPrincipal UserPrincipal principal) {
+        TransactionExportService.Format exportFormat;
+        MediaType mediaType;
+        String filename;
+        if (format.equalsIgnoreCase("csv")) {
+            exportFormat = TransactionExportService.Format.CSV;
+            mediaType = MediaType.parseMediaType("text/csv");
+            filename = "transactions.csv";
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            exportFormat = TransactionExportService.Format.NDJSON;
+            mediaType = MediaType.parseMediaType("application/x-ndjson");
+            filename = "transactions.ndjson";
+        } else {
+            throw new InvalidRequestException("format must be csv or ndjson");
+        }
+        if (gzip) {
+            mediaType = MediaType.parseMediaType("application/gzip");
+            filename += ".gz";
+        }
+
+        Long userId = principal.getId();
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, true);
+                transactionExportService.export(userId, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                transactionExportService.export(userId, exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TransactionDto> updateTransaction(@PathVariable Long id,
                                                            @Valid @RequestBody TransactionDto transactionDto,
-                                                           Authentication authentication) {
-        TransactionDto updatedTransaction = transactionService.updateTransaction(authentication.getName(), id, transactionDto);
+                                                           @AuthenticationPrincipal UserPrincipal principal) {
+        TransactionDto updatedTransaction = transactionService.updateTransaction(principal.getId(), id, transactionDto);
         return ResponseEntity.ok(updatedTransaction);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTransaction(@PathVariable Long id, Authentication authentication) {
-        transactionService.deleteTransaction(authentication.getName(), id);
+    public ResponseEntity<Void> deleteTransaction(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+        transactionService.deleteTransaction(principal.getId(), id);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Object>> getFinancialSummary(Authentication authentication) {
-        Map<String, Object> summary = transactionService.getFinancialSummary(authentication.getName());
+    public ResponseEntity<Map<String, Object>> getFinancialSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy,
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest request) {
+        Long userId = principal.getId();
+        if (groupBy == null && from == null && to == null) {
+            return conditionalReads.respond(userId, request, () -> transactionService.getFinancialSummary(userId));
+        }
+        return conditionalReads.respond(userId, request, () -> transactionService.getRangeSummary(userId, from, to,
+                groupBy != null ? groupBy : "month"));
+    }
+
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildFinancialSummary(@AuthenticationPrincipal UserPrincipal principal) {
+        Map<String, Object> summary = transactionService.rebuildFinancialSummary(principal.getId());
         return ResponseEntity.ok(summary);
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.yourproject.expensetracker.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write in the last {@code replicas.read-your-writes-ms}, so
+ * their reads stay on the primary until every healthy replica is guaranteed to have the write.
+ * Tracked per instance: a user whose next request lands on another instance is covered only by
+ * the replica lag limit.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${replicas.read-your-writes-ms:3000}") long windowMs,
+                          @Value("${replicas.read-your-writes-max-users:100000}") long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isRecentWriter(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
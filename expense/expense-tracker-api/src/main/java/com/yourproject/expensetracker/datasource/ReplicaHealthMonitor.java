@@ -0,0 +1,114 @@
+package com.yourproject.expensetracker.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes a heartbeat on the primary and reads it back from every replica. A replica is used only
+ * while its last check succeeded and its heartbeat is no older than {@code replicas.max-lag-ms}.
+ */
+public class ReplicaHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaHealthMonitor(DataSource primary, List<DataSource> replicas, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica(ReplicaRoutingDataSource.replicaKey(i), replicas.get(i)));
+        }
+        this.maxLagMs = maxLagMs;
+    }
+
+    public Map<String, DataSource> getDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.key, replica.jdbc.getDataSource()));
+        return dataSources;
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMs)
+                    .tag("replica", replica.key)
+                    .baseUnit("milliseconds")
+                    .description("Age of the newest heartbeat seen on the replica; -1 when unreachable")
+                    .register(registry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.key)
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${replicas.check-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now);
+        } catch (RuntimeException e) {
+            log.warn("Could not write replica heartbeat to the primary", e);
+            return;
+        }
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            boolean firstCheck = !replica.checked;
+            replica.checked = true;
+            try {
+                Long beatAt = replica.jdbc.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+                replica.lagMs = beatAt != null ? Math.max(0, now - beatAt) : -1;
+                replica.healthy = beatAt != null && replica.lagMs <= maxLagMs;
+            } catch (RuntimeException e) {
+                replica.lagMs = -1;
+                replica.healthy = false;
+                if (wasHealthy) {
+                    log.warn("Replica {} is unreachable, reading from the primary instead: {}", replica.key, e.getMessage());
+                }
+            }
+            if (firstCheck || wasHealthy != replica.healthy) {
+                log.info("Replica {} is now {} (lag {} ms)", replica.key, replica.healthy ? "in use" : "out of use", replica.lagMs);
+            }
+        }
+    }
+
+    /**
+     * Round-robins over the healthy replicas; null when none is healthy.
+     */
+    public String chooseReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final JdbcTemplate jdbc;
+        // Out of use until the first check proves otherwise
+        private volatile boolean healthy;
+        private volatile long lagMs = -1;
+        private boolean checked;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+    }
+}
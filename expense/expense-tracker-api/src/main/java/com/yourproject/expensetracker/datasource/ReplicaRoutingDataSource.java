@@ -0,0 +1,67 @@
+package com.yourproject.expensetracker.datasource;
+
+import com.yourproject.expensetracker.config.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary. Must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only known after it has begun, so the physical connection has
+ * to be fetched on the first statement rather than at begin.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealthMonitor monitor;
+    private final ReadYourWrites readYourWrites;
+
+    private Counter primaryReads;
+    private Counter replicaReads;
+    private Counter writes;
+
+    public ReplicaRoutingDataSource(ReplicaHealthMonitor monitor, ReadYourWrites readYourWrites) {
+        this.monitor = monitor;
+        this.readYourWrites = readYourWrites;
+    }
+
+    static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+
+    public void bindMetrics(MeterRegistry registry) {
+        primaryReads = Counter.builder("datasource.routing").tag("target", "primary").tag("access", "read-only").register(registry);
+        replicaReads = Counter.builder("datasource.routing").tag("target", "replica").tag("access", "read-only").register(registry);
+        writes = Counter.builder("datasource.routing").tag("target", "primary").tag("access", "read-write").register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            count(writes);
+            return PRIMARY;
+        }
+        String replica = readYourWrites.isRecentWriter(currentUserId()) ? null : monitor.chooseReplica();
+        count(replica != null ? replicaReads : primaryReads);
+        return replica != null ? replica : PRIMARY;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
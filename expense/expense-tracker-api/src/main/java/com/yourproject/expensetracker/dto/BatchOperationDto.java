@@ -0,0 +1,22 @@
+package com.yourproject.expensetracker.dto;
+
+/**
+ * One entry of a batch: {@code op} is create, update or delete. Update and delete name the
+ * transaction by {@code id}; create and update carry the new values in {@code transaction}.
+ */
+public class BatchOperationDto {
+    private String op;
+    private Long id;
+    private TransactionDto transaction;
+
+    public BatchOperationDto() {}
+
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TransactionDto getTransaction() { return transaction; }
+    public void setTransaction(TransactionDto transaction) { this.transaction = transaction; }
+}
@@ -0,0 +1,35 @@
+package com.yourproject.expensetracker.dto;
+
+public class BatchOperationResultDto {
+    private int index;
+    private String op;
+    private String status;
+    private Long id;
+    private TransactionDto transaction;
+    private String error;
+
+    public BatchOperationResultDto() {}
+
+    public BatchOperationResultDto(int index, String op) {
+        this.index = index;
+        this.op = op;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TransactionDto getTransaction() { return transaction; }
+    public void setTransaction(TransactionDto transaction) { this.transaction = transaction; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,17 @@
+package com.yourproject.expensetracker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchResultDto {
+    private boolean applied;
+    private List<BatchOperationResultDto> results = new ArrayList<>();
+
+    public BatchResultDto() {}
+
+    public boolean isApplied() { return applied; }
+    public void setApplied(boolean applied) { this.applied = applied; }
+
+    public List<BatchOperationResultDto> getResults() { return results; }
+    public void setResults(List<BatchOperationResultDto> results) { this.results = results; }
+}
@@ -0,0 +1,48 @@
+package com.yourproject.expensetracker.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BudgetDto {
+    private Long id;
+
+    // Null for a budget on all spending
+    private Long categoryId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @DecimalMax(value = "99999999.99", message = "Amount must be at most 99999999.99")
+    private BigDecimal amount;
+
+    // Set by the server, for the current month
+    private String categoryName;
+    private LocalDate month;
+    private BigDecimal spent;
+    private int percentUsed;
+
+    public BudgetDto() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public LocalDate getMonth() { return month; }
+    public void setMonth(LocalDate month) { this.month = month; }
+
+    public BigDecimal getSpent() { return spent; }
+    public void setSpent(BigDecimal spent) { this.spent = spent; }
+
+    public int getPercentUsed() { return percentUsed; }
+    public void setPercentUsed(int percentUsed) { this.percentUsed = percentUsed; }
+}
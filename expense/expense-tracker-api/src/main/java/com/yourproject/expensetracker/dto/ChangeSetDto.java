@@ -0,0 +1,41 @@
+package com.yourproject.expensetracker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What changed since the client's cursor. With {@code reset} set the log cannot bring the client
+ * up to date and it should reload everything, then continue from {@code cursor}.
+ */
+public class ChangeSetDto {
+    private String cursor;
+    private boolean reset;
+    private boolean hasMore;
+    private List<TransactionDto> transactions = new ArrayList<>();
+    private List<Long> deletedTransactionIds = new ArrayList<>();
+    private List<CategoryDto> categories = new ArrayList<>();
+    private List<Long> deletedCategoryIds = new ArrayList<>();
+
+    public ChangeSetDto() {}
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public boolean isReset() { return reset; }
+    public void setReset(boolean reset) { this.reset = reset; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public List<TransactionDto> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionDto> transactions) { this.transactions = transactions; }
+
+    public List<Long> getDeletedTransactionIds() { return deletedTransactionIds; }
+    public void setDeletedTransactionIds(List<Long> deletedTransactionIds) { this.deletedTransactionIds = deletedTransactionIds; }
+
+    public List<CategoryDto> getCategories() { return categories; }
+    public void setCategories(List<CategoryDto> categories) { this.categories = categories; }
+
+    public List<Long> getDeletedCategoryIds() { return deletedCategoryIds; }
+    public void setDeletedCategoryIds(List<Long> deletedCategoryIds) { this.deletedCategoryIds = deletedCategoryIds; }
+}
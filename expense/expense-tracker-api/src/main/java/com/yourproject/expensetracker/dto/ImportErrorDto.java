@@ -0,0 +1,19 @@
+package com.yourproject.expensetracker.dto;
+
+public class ImportErrorDto {
+    private long line;
+    private String error;
+
+    public ImportErrorDto() {}
+
+    public ImportErrorDto(long line, String error) {
+        this.line = line;
+        this.error = error;
+    }
+
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,25 @@
+package com.yourproject.expensetracker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDto {
+    private long imported;
+    private long failed;
+    private List<ImportErrorDto> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public ImportResultDto() {}
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<ImportErrorDto> getErrors() { return errors; }
+    public void setErrors(List<ImportErrorDto> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+}
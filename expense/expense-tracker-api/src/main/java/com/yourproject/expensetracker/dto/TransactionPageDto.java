@@ -0,0 +1,21 @@
+package com.yourproject.expensetracker.dto;
+
+import java.util.List;
+
+public class TransactionPageDto {
+    private List<TransactionDto> items;
+    private String next;
+
+    public TransactionPageDto() {}
+
+    public TransactionPageDto(List<TransactionDto> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<TransactionDto> getItems() { return items; }
+    public void setItems(List<TransactionDto> items) { this.items = items; }
+
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+}
@@ -0,0 +1,87 @@
+package com.yourproject.expensetracker.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yourproject.expensetracker.dto.BudgetAlertDto;
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import java.util.Map;
+
+/**
+ * A committed change to one user's data, as pushed to their open dashboards. Carries the changed
+ * row and, for transaction changes, the new summary totals so a client can patch its state
+ * without reloading. {@code transactions.changed} reports a bulk write with no row attached;
+ * clients reload their list for it. {@code budget.alert} carries a budget threshold that was just
+ * reached.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    public static final String TRANSACTION_CREATED = "transaction.created";
+    public static final String TRANSACTION_UPDATED = "transaction.updated";
+    public static final String TRANSACTION_DELETED = "transaction.deleted";
+    public static final String TRANSACTIONS_CHANGED = "transactions.changed";
+    public static final String CATEGORY_CREATED = "category.created";
+    public static final String CATEGORY_UPDATED = "category.updated";
+    public static final String CATEGORY_DELETED = "category.deleted";
+    public static final String BUDGET_ALERT = "budget.alert";
+
+    private final Long userId;
+    private final String type;
+    private TransactionDto transaction;
+    private Long transactionId;
+    private CategoryDto category;
+    private Long categoryId;
+    private Map<String, Object> summary;
+    private BudgetAlertDto alert;
+
+    private ChangeEvent(Long userId, String type) {
+        this.userId = userId;
+        this.type = type;
+    }
+
+    public static ChangeEvent transaction(Long userId, String type, TransactionDto transaction, Long transactionId,
+                                          Map<String, Object> summary) {
+        ChangeEvent event = new ChangeEvent(userId, type);
+        event.transaction = transaction;
+        event.transactionId = transactionId;
+        event.summary = summary;
+        return event;
+    }
+
+    public static ChangeEvent transactions(Long userId, Map<String, Object> summary) {
+        ChangeEvent event = new ChangeEvent(userId, TRANSACTIONS_CHANGED);
+        event.summary = summary;
+        return event;
+    }
+
+    public static ChangeEvent category(Long userId, String type, CategoryDto category, Long categoryId) {
+        ChangeEvent event = new ChangeEvent(userId, type);
+        event.category = category;
+        event.categoryId = categoryId;
+        return event;
+    }
+
+    public static ChangeEvent budgetAlert(Long userId, BudgetAlertDto alert) {
+        ChangeEvent event = new ChangeEvent(userId, BUDGET_ALERT);
+        event.alert = alert;
+        return event;
+    }
+
+    @JsonIgnore
+    public Long getUserId() { return userId; }
+
+    public String getType() { return type; }
+
+    public TransactionDto getTransaction() { return transaction; }
+
+    public Long getTransactionId() { return transactionId; }
+
+    public CategoryDto getCategory() { return category; }
+
+    public Long getCategoryId() { return categoryId; }
+
+    public Map<String, Object> getSummary() { return summary; }
+
+    public BudgetAlertDto getAlert() { return alert; }
+}
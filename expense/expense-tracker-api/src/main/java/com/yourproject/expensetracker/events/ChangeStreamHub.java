@@ -0,0 +1,220 @@
+package com.yourproject.expensetracker.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourproject.expensetracker.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user Server-Sent Event streams for this instance. Writers publish a {@link ChangeEvent}
+ * inside their transaction; it is fanned out here only after the commit, so a rolled-back write
+ * is never pushed.
+ *
+ * <p>Nothing holds a thread while a stream is idle. Each connection has a small bounded queue
+ * that a virtual thread drains only while there is something to send, so a slow client stalls
+ * its own sender and never the writer. A client that falls a whole queue behind is disconnected;
+ * its EventSource reconnects and reloads, which is cheaper than buffering for it.
+ */
+@Component
+public class ChangeStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamHub.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${events.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${events.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${events.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${events.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    private final Map<Long, ConcurrentLinkedDeque<Connection>> connections = new ConcurrentHashMap<>();
+    private final Set<Connection> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * Opens a stream for the user. Over the per-user cap the user's oldest stream is closed,
+     * since that is usually a tab that has gone away; over the instance cap the request is refused.
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (openCount.incrementAndGet() > maxConnections) {
+            openCount.decrementAndGet();
+            rejections.increment();
+            throw new ServiceBusyException("Too many open event streams");
+        }
+        Connection connection = new Connection(userId, new SseEmitter(timeoutMillis));
+        open.add(connection);
+        // compute, not computeIfAbsent + add, so a concurrent remove() cannot drop the deque in between
+        ConcurrentLinkedDeque<Connection> userConnections = connections.compute(userId, (id, existing) -> {
+            ConcurrentLinkedDeque<Connection> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(connection);
+            return deque;
+        });
+        while (userConnections.size() > maxConnectionsPerUser) {
+            Connection oldest = userConnections.pollFirst();
+            if (oldest != null) {
+                oldest.close();
+            }
+        }
+
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> remove(connection));
+        connection.emitter.onError(error -> remove(connection));
+        // Sends the response headers straight away so the client sees the stream as open
+        connection.offer(SseEmitter.event().comment("connected"));
+        return connection.emitter;
+    }
+
+    /**
+     * Whether anyone on this instance is listening to the user, so writers can skip building an
+     * event nobody will receive.
+     */
+    public boolean isListening(Long userId) {
+        ConcurrentLinkedDeque<Connection> userConnections = connections.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(ChangeEvent event) {
+        ConcurrentLinkedDeque<Connection> userConnections = connections.get(event.getUserId());
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialise {} event for user {}", event.getType(), event.getUserId(), e);
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.offer(SseEmitter.event().data(json));
+        }
+    }
+
+    /**
+     * Comment lines keep proxies and load balancers from closing idle streams, and surface
+     * connections whose client has gone away without a FIN.
+     */
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Connection connection : open) {
+            connection.offer(SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        open.forEach(Connection::close);
+        senders.shutdown();
+    }
+
+    public int getConnectionCount() {
+        return openCount.get();
+    }
+
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    private void remove(Connection connection) {
+        if (!open.remove(connection)) {
+            return;
+        }
+        openCount.decrementAndGet();
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new LinkedBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!queue.offer(event)) {
+                overflows.increment();
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    SseEmitter.SseEventBuilder event = queue.poll();
+                    if (event == null) {
+                        draining.set(false);
+                        // An offer may have landed between the empty poll and clearing the flag
+                        if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream already completed
+                draining.set(false);
+                close();
+            }
+        }
+
+        void close() {
+            queue.clear();
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.yourproject.expensetracker.events;
+
+import com.yourproject.expensetracker.model.ChangeEntityType;
+import java.util.Collection;
+
+/**
+ * Published for every change log write, inside the writing transaction: which rows of which
+ * kind changed, and the data version the change produced. In-process consumers that mirror a
+ * user's data listen after commit and apply it, or drop their copy if they see a version gap.
+ */
+public class DataChangeEvent {
+
+    private final Long userId;
+    private final long version;
+    private final ChangeEntityType entityType;
+    private final Collection<Long> upsertedIds;
+    private final Collection<Long> deletedIds;
+
+    public DataChangeEvent(Long userId, long version, ChangeEntityType entityType, Collection<Long> upsertedIds,
+                           Collection<Long> deletedIds) {
+        this.userId = userId;
+        this.version = version;
+        this.entityType = entityType;
+        this.upsertedIds = upsertedIds;
+        this.deletedIds = deletedIds;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public long getVersion() { return version; }
+
+    public ChangeEntityType getEntityType() { return entityType; }
+
+    public Collection<Long> getUpsertedIds() { return upsertedIds; }
+
+    public Collection<Long> getDeletedIds() { return deletedIds; }
+}
@@ -0,0 +1,7 @@
+package com.yourproject.expensetracker.exception;
+
+public class BudgetNotFoundException extends RuntimeException {
+    public BudgetNotFoundException(String message) {
+        super(message);
+    }
+}
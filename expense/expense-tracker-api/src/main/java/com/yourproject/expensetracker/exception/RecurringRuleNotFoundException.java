@@ -0,0 +1,7 @@
+package com.yourproject.expensetracker.exception;
+
+public class RecurringRuleNotFoundException extends RuntimeException {
+    public RecurringRuleNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.yourproject.expensetracker.metrics;
+
+import com.yourproject.expensetracker.analytics.AnalyticsEngine;
+import com.yourproject.expensetracker.cache.InvalidatingCache;
+import com.yourproject.expensetracker.config.JwtTokenCache;
+import com.yourproject.expensetracker.config.PinnedThreadMonitor;
+import com.yourproject.expensetracker.events.ChangeStreamHub;
+import com.yourproject.expensetracker.service.BudgetService;
+import com.yourproject.expensetracker.service.PasswordHasher;
+import com.yourproject.expensetracker.service.RecurringTransactionScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestSqlStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new EntityLoadCounter()));
+        };
+    }
+
+    @Bean
+    public MeterBinder jwtTokenCacheMetrics(JwtTokenCache tokenCache) {
+        return registry -> {
+            Gauge.builder("jwt.cache.size", tokenCache, JwtTokenCache::size)
+                    .description("Verified tokens currently cached")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.requests", tokenCache, JwtTokenCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.requests", tokenCache, JwtTokenCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.evictions", tokenCache, JwtTokenCache::getEvictionCount)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * cache.gets{result=hit|miss} gives the hit rate per cache; cache.invalidations counts
+     * evictions received from the invalidation channel.
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics(List<InvalidatingCache<?, ?>> caches) {
+        return registry -> caches.forEach(cache -> {
+            CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), cache.getName());
+            FunctionCounter.builder("cache.invalidations", cache, InvalidatingCache::getInvalidationCount)
+                    .tag("cache", cache.getName())
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder passwordHasherMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            Gauge.builder("auth.hashing.active", passwordHasher, PasswordHasher::getActiveCount)
+                    .description("Password hashes being computed")
+                    .register(registry);
+            Gauge.builder("auth.hashing.queued", passwordHasher, PasswordHasher::getQueueSize)
+                    .description("Password hashes waiting for a hashing thread")
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", passwordHasher, PasswordHasher::getRejectionCount)
+                    .description("Logins and registrations turned away because the hashing queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder changeStreamMetrics(ChangeStreamHub changeStreamHub) {
+        return registry -> {
+            Gauge.builder("events.connections", changeStreamHub, ChangeStreamHub::getConnectionCount)
+                    .description("Open change streams on this instance")
+                    .register(registry);
+            FunctionCounter.builder("events.rejected", changeStreamHub, ChangeStreamHub::getRejectionCount)
+                    .description("Change streams refused because the instance was at events.max-connections")
+                    .register(registry);
+            FunctionCounter.builder("events.overflows", changeStreamHub, ChangeStreamHub::getOverflowCount)
+                    .description("Change streams closed because the client fell a full buffer behind")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder recurringMetrics(RecurringTransactionScheduler scheduler) {
+        return registry -> {
+            FunctionCounter.builder("recurring.posted", scheduler, RecurringTransactionScheduler::getPostedCount)
+                    .description("Transactions posted by the recurring-rule scheduler")
+                    .register(registry);
+            FunctionCounter.builder("recurring.failures", scheduler, RecurringTransactionScheduler::getFailureCount)
+                    .description("Recurring rules that could not be posted and were left due for the next run")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder budgetMetrics(BudgetService budgetService) {
+        return registry -> FunctionCounter.builder("budgets.alerts", budgetService, BudgetService::getAlertCount)
+                .description("Budget threshold alerts raised")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder analyticsMetrics(ObjectProvider<AnalyticsEngine> engine) {
+        return registry -> engine.ifAvailable(analyticsEngine -> {
+            CaffeineCacheMetrics.monitor(registry, analyticsEngine.getNativeCache(), "analytics");
+            Gauge.builder("analytics.memory.bytes", analyticsEngine, AnalyticsEngine::getMemoryBytes)
+                    .description("Estimated size of the columnar histories held in memory")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder pinnedThreadMetrics(ObjectProvider<PinnedThreadMonitor> monitor) {
+        return registry -> monitor.ifAvailable(pinnedThreadMonitor ->
+                FunctionCounter.builder("jvm.threads.virtual.pinned", pinnedThreadMonitor, PinnedThreadMonitor::getPinnedCount)
+                        .description("Virtual threads pinned for longer than the monitor threshold")
+                        .register(registry));
+    }
+}
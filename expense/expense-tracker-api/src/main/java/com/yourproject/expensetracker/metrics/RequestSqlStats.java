@@ -0,0 +1,60 @@
+package com.yourproject.expensetracker.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC statements and entity loads issued by the current request thread. Work a request hands
+ * to another thread (async continuations, streamed exports) is not attributed to it.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+
+    // The statements' SQL, kept only when asked for; requests count without keeping the text
+    private final List<String> sql;
+
+    private RequestSqlStats(boolean recordSql) {
+        this.sql = recordSql ? new ArrayList<>() : null;
+    }
+
+    static RequestSqlStats begin() {
+        return begin(false);
+    }
+
+    static RequestSqlStats begin(boolean recordSql) {
+        RequestSqlStats stats = new RequestSqlStats(recordSql);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared(String statement) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            if (stats.sql != null) {
+                stats.sql.add(statement);
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    public int getStatements() { return statements; }
+
+    public int getEntityLoads() { return entityLoads; }
+
+    public List<String> getSql() { return sql != null ? sql : List.of(); }
+}
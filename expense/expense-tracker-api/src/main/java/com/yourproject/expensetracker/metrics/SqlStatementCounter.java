@@ -0,0 +1,16 @@
+package com.yourproject.expensetracker.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the current request. A JDBC batch counts
+ * once, the same way it costs one round trip.
+ */
+class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStats.statementPrepared(sql);
+        return sql;
+    }
+}
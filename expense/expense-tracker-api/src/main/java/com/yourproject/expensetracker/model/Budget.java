@@ -0,0 +1,58 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+// Indexes are created by the V9 migration; declared here so the mapping documents them
+@Table(name = "budgets", uniqueConstraints =
+        @UniqueConstraint(name = "uk_budgets_user_category", columnNames = {"user_id", "category_id"}))
+public class Budget {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_seq")
+    @SequenceGenerator(name = "budget_seq", sequenceName = "budget_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Null for the budget that covers all of the user's spending
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    // The month and highest threshold already alerted on. Raised only through the conditional
+    // update in BudgetRepository.markAlerted; cleared when the amount changes
+    @Column(name = "alert_month")
+    private LocalDate alertMonth;
+
+    @Column(name = "alert_percent")
+    private Integer alertPercent;
+
+    public Budget() {}
+
+    public Budget(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public LocalDate getAlertMonth() { return alertMonth; }
+    public void setAlertMonth(LocalDate alertMonth) { this.alertMonth = alertMonth; }
+
+    public Integer getAlertPercent() { return alertPercent; }
+    public void setAlertPercent(Integer alertPercent) { this.alertPercent = alertPercent; }
+}
@@ -0,0 +1,90 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+// Indexes are created by the V9 migration; declared here so the mapping documents them
+@Table(name = "budget_alerts", indexes = {
+        @Index(name = "idx_budget_alerts_user", columnList = "user_id, id")
+})
+public class BudgetAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_alert_seq")
+    @SequenceGenerator(name = "budget_alert_seq", sequenceName = "budget_alert_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    // Copied from the budget so the alert keeps its label after the budget is deleted
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    // Percentage of the budget that was reached
+    @Column(nullable = false)
+    private int threshold;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal spent;
+
+    @Column(name = "budget_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal budgetAmount;
+
+    // Epoch millis
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+
+    @Column(name = "read_at")
+    private Long readAt;
+
+    public BudgetAlert() {}
+
+    public BudgetAlert(Budget budget, LocalDate monthStart, int threshold, BigDecimal spent, long createdAt) {
+        this.userId = budget.getUserId();
+        this.budgetId = budget.getId();
+        this.categoryId = budget.getCategoryId();
+        this.monthStart = monthStart;
+        this.threshold = threshold;
+        this.spent = spent;
+        this.budgetAmount = budget.getAmount();
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getBudgetId() { return budgetId; }
+    public void setBudgetId(Long budgetId) { this.budgetId = budgetId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = threshold; }
+
+    public BigDecimal getSpent() { return spent; }
+    public void setSpent(BigDecimal spent) { this.spent = spent; }
+
+    public BigDecimal getBudgetAmount() { return budgetAmount; }
+    public void setBudgetAmount(BigDecimal budgetAmount) { this.budgetAmount = budgetAmount; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public Long getReadAt() { return readAt; }
+    public void setReadAt(Long readAt) { this.readAt = readAt; }
+}
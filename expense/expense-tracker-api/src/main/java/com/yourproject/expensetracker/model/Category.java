@@ -6,14 +6,15 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes =
+        @Index(name = "idx_categories_user", columnList = "user_id"))
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @NotNull
-    @Column(name = "user_id", nullable = false)
+    // Null for built-in categories shared by every user
+    @Column(name = "user_id")
     private Long userId;
 
     @NotBlank(message = "Category name is required")
@@ -45,4 +46,6 @@ public class Category {
 
     public TransactionType getType() { return type; }
     public void setType(TransactionType type) { this.type = type; }
+
+    public boolean isSystem() { return userId == null; }
 }
\ No newline at end of file
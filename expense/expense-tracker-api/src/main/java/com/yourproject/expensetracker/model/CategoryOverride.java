@@ -0,0 +1,54 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * A user's change to a built-in category: a different display name, or hiding it.
+ * Only written when the user actually changes something.
+ */
+@Entity
+@Table(name = "category_overrides", uniqueConstraints =
+        @UniqueConstraint(name = "uk_category_overrides_user_category", columnNames = {"user_id", "category_id"}))
+public class CategoryOverride {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Size(max = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private boolean hidden;
+
+    public CategoryOverride() {}
+
+    public CategoryOverride(Long userId, Long categoryId) {
+        this.userId = userId;
+        this.categoryId = categoryId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public boolean isHidden() { return hidden; }
+    public void setHidden(boolean hidden) { this.hidden = hidden; }
+}
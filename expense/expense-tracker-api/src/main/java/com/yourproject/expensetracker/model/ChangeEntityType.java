@@ -0,0 +1,5 @@
+package com.yourproject.expensetracker.model;
+
+public enum ChangeEntityType {
+    TRANSACTION, CATEGORY
+}
@@ -0,0 +1,71 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+
+@Entity
+// Indexes are created by the V7 migration; declared here so the mapping documents them
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_user_version", columnList = "user_id, version, id"),
+        @Index(name = "idx_change_log_user_entity", columnList = "user_id, entity_type, entity_id, version")
+})
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // The user's data version after the change; every entry written by one transaction shares it
+    @Column(nullable = false)
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeOperation operation;
+
+    // Epoch millis; only compared against the retention cutoff
+    @Column(name = "changed_at", nullable = false)
+    private long changedAt;
+
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(Long userId, long version, ChangeEntityType entityType, Long entityId,
+                          ChangeOperation operation, long changedAt) {
+        this.userId = userId;
+        this.version = version;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public ChangeEntityType getEntityType() { return entityType; }
+    public void setEntityType(ChangeEntityType entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public ChangeOperation getOperation() { return operation; }
+    public void setOperation(ChangeOperation operation) { this.operation = operation; }
+
+    public long getChangedAt() { return changedAt; }
+    public void setChangedAt(long changedAt) { this.changedAt = changedAt; }
+}
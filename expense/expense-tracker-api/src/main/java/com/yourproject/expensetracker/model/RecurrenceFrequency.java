@@ -0,0 +1,31 @@
+package com.yourproject.expensetracker.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    WEEKLY(ChronoUnit.WEEKS), MONTHLY(ChronoUnit.MONTHS), YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * The first occurrence on or after {@code date} of a schedule anchored at {@code start}.
+     * Occurrences are counted from the anchor rather than from each other, so a rule starting on
+     * the 31st posts on the last day of shorter months and returns to the 31st afterwards.
+     */
+    public LocalDate firstOnOrAfter(LocalDate start, LocalDate date) {
+        if (!date.isAfter(start)) {
+            return start;
+        }
+        long periods = unit.between(start, date);
+        LocalDate occurrence = start.plus(periods, unit);
+        while (occurrence.isBefore(date)) {
+            occurrence = start.plus(++periods, unit);
+        }
+        return occurrence;
+    }
+}
@@ -0,0 +1,114 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+// Indexes are created by the V8 migration; declared here so the mapping documents them
+@Table(name = "recurring_rules", indexes = {
+        @Index(name = "idx_recurring_rules_user", columnList = "user_id, id"),
+        @Index(name = "idx_recurring_rules_due", columnList = "next_occurrence, user_id, id")
+})
+public class RecurringRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_rule_seq")
+    @SequenceGenerator(name = "recurring_rule_seq", sequenceName = "recurring_rule_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Null once the rule has passed its end date
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    @Column(name = "last_occurrence")
+    private LocalDate lastOccurrence;
+
+    // A scheduler run and an edit of the same rule cannot both commit
+    @Version
+    private long version;
+
+    public RecurringRule() {}
+
+    public RecurringRule(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Recomputes the next occurrence from the schedule, after anything already posted.
+     */
+    public void reschedule() {
+        LocalDate from = lastOccurrence != null && !lastOccurrence.isBefore(startDate)
+                ? lastOccurrence.plusDays(1) : startDate;
+        LocalDate next = frequency.firstOnOrAfter(startDate, from);
+        nextOccurrence = endDate != null && next.isAfter(endDate) ? null : next;
+    }
+
+    /**
+     * Marks the next occurrence as posted and moves on to the one after it.
+     */
+    public void advance() {
+        lastOccurrence = nextOccurrence;
+        reschedule();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public RecurrenceFrequency getFrequency() { return frequency; }
+    public void setFrequency(RecurrenceFrequency frequency) { this.frequency = frequency; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public LocalDate getNextOccurrence() { return nextOccurrence; }
+    public void setNextOccurrence(LocalDate nextOccurrence) { this.nextOccurrence = nextOccurrence; }
+
+    public LocalDate getLastOccurrence() { return lastOccurrence; }
+    public void setLastOccurrence(LocalDate lastOccurrence) { this.lastOccurrence = lastOccurrence; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
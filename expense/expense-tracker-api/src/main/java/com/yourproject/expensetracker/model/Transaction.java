@@ -8,10 +8,19 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+// Indexes are created by the V2, V6 and V8 migrations; declared here so the mapping documents them
+@Table(name = "transactions", indexes = {
+        @Index(name = "uk_transactions_recurring_occurrence", columnList = "recurring_rule_id, occurrence_date", unique = true),
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date desc, id desc"),
+        @Index(name = "idx_transactions_user_type", columnList = "user_id, type"),
+        @Index(name = "idx_transactions_user_category", columnList = "user_id, category_id"),
+        @Index(name = "idx_transactions_user_amount_id", columnList = "user_id, amount desc, id desc")
+})
 public class Transaction {
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -39,6 +48,13 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type;
 
+    // Set only on rows posted by a recurring rule
+    @Column(name = "recurring_rule_id")
+    private Long recurringRuleId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
     public Transaction() {}
 
     public Transaction(Long userId, Long categoryId, BigDecimal amount, String description, LocalDate date, TransactionType type) {
@@ -70,4 +86,10 @@ public class Transaction {
 
     public TransactionType getType() { return type; }
     public void setType(TransactionType type) { this.type = type; }
+
+    public Long getRecurringRuleId() { return recurringRuleId; }
+    public void setRecurringRuleId(Long recurringRuleId) { this.recurringRuleId = recurringRuleId; }
+
+    public LocalDate getOccurrenceDate() { return occurrenceDate; }
+    public void setOccurrenceDate(LocalDate occurrenceDate) { this.occurrenceDate = occurrenceDate; }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "transaction_rollups", uniqueConstraints =
+        @UniqueConstraint(name = "uk_transaction_rollups_bucket", columnNames = {"user_id", "month_start", "category_id", "type"}))
+public class TransactionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_rollup_seq")
+    @SequenceGenerator(name = "transaction_rollup_seq", sequenceName = "transaction_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @NotNull
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @NotNull
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    public TransactionRollup() {}
+
+    public TransactionRollup(Long userId, LocalDate monthStart, Long categoryId, TransactionType type,
+                             BigDecimal total, long transactionCount) {
+        this.userId = userId;
+        this.monthStart = monthStart;
+        this.categoryId = categoryId;
+        this.type = type;
+        this.total = total;
+        this.transactionCount = transactionCount;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+}
@@ -0,0 +1,34 @@
+package com.yourproject.expensetracker.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Change log entries up to this version have been purged
+    @Column(name = "change_log_floor", nullable = false)
+    private long changeLogFloor;
+
+    public UserDataVersion() {}
+
+    public UserDataVersion(Long userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getChangeLogFloor() { return changeLogFloor; }
+    public void setChangeLogFloor(long changeLogFloor) { this.changeLogFloor = changeLogFloor; }
+}
@@ -0,0 +1,27 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    @Query("SELECT a FROM BudgetAlert a WHERE a.userId = :userId ORDER BY a.userId DESC, a.id DESC")
+    List<BudgetAlert> findLatest(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT a FROM BudgetAlert a WHERE a.userId = :userId AND a.readAt IS NULL ORDER BY a.userId DESC, a.id DESC")
+    List<BudgetAlert> findLatestUnread(@Param("userId") Long userId, Pageable pageable);
+
+    Optional<BudgetAlert> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.readAt = :readAt WHERE a.userId = :userId AND a.readAt IS NULL")
+    int markAllRead(@Param("userId") Long userId, @Param("readAt") long readAt);
+}
@@ -0,0 +1,29 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserId(Long userId);
+
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Records that the budget reached {@code percent} in the given month, unless that or a higher
+     * threshold was already recorded for it. Returns 1 only to the caller that should send the
+     * alert; the row lock makes concurrent callers for the same budget take turns.
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.alertMonth = :month, b.alertPercent = :percent WHERE b.id = :id"
+            + " AND (b.alertMonth IS NULL OR b.alertMonth <> :month OR b.alertPercent < :percent)")
+    int markAlerted(@Param("id") Long id, @Param("month") LocalDate month, @Param("percent") int percent);
+}
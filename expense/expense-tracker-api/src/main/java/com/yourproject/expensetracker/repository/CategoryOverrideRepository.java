@@ -0,0 +1,13 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.CategoryOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryOverrideRepository extends JpaRepository<CategoryOverride, Long> {
+    List<CategoryOverride> findByUserId(Long userId);
+    Optional<CategoryOverride> findByUserIdAndCategoryId(Long userId, Long categoryId);
+}
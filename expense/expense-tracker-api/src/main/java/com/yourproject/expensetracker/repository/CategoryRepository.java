@@ -12,4 +12,5 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByUserId(Long userId);
     List<Category> findByUserIdAndType(Long userId, TransactionType type);
     Optional<Category> findByIdAndUserId(Long id, Long userId);
+    List<Category> findByUserIdIsNull();
 }
\ No newline at end of file
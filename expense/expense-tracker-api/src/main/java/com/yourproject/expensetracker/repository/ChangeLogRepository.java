@@ -0,0 +1,37 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Keyset over (version, id); userId leads the ORDER BY so idx_change_log_user_version is read in order
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.userId = :userId AND c.version >= :version AND (c.version > :version OR c.id > :id) ORDER BY c.userId, c.version, c.id")
+    List<ChangeLogEntry> findPageByUserIdAfter(@Param("userId") Long userId, @Param("version") long version, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT DISTINCT c.userId FROM ChangeLogEntry c")
+    List<Long> findUserIds();
+
+    @Query("SELECT MAX(c.version) FROM ChangeLogEntry c WHERE c.userId = :userId AND c.changedAt < :before")
+    Long findMaxVersionBefore(@Param("userId") Long userId, @Param("before") long before);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.userId = :userId AND c.version <= :version")
+    int deleteThroughVersion(@Param("userId") Long userId, @Param("version") long version);
+
+    // Selected first and deleted by id: MySQL rejects a DELETE whose subquery reads the same table
+    @Query("SELECT c.id FROM ChangeLogEntry c WHERE c.userId = :userId AND EXISTS (SELECT n.id FROM ChangeLogEntry n WHERE n.userId = c.userId AND n.entityType = c.entityType AND n.entityId = c.entityId AND n.version > c.version)")
+    List<Long> findSupersededIds(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,41 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.RecurringRule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    @Query("SELECT r FROM RecurringRule r WHERE r.userId = :userId ORDER BY r.userId, r.id")
+    List<RecurringRule> findByUserId(@Param("userId") Long userId);
+
+    Optional<RecurringRule> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    /**
+     * One partition's due rules, keyset-paged over (next occurrence, user, id) so that a rule
+     * that stays due after a failed run does not stall the scan, and a user's rules due on the
+     * same day land in the same chunk. The redundant lower bound starts the index range at the
+     * cursor. May be read from a replica; the scheduler reloads each page before acting on it.
+     */
+    @Query("SELECT r FROM RecurringRule r WHERE r.nextOccurrence <= :today AND MOD(r.userId, :partitions) = :partition"
+            + " AND r.nextOccurrence >= :afterDate AND (r.nextOccurrence > :afterDate OR (r.nextOccurrence = :afterDate"
+            + " AND (r.userId > :afterUserId OR (r.userId = :afterUserId AND r.id > :afterId))))"
+            + " ORDER BY r.nextOccurrence, r.userId, r.id")
+    List<RecurringRule> findDuePage(@Param("today") LocalDate today, @Param("partitions") int partitions,
+                                    @Param("partition") int partition, @Param("afterDate") LocalDate afterDate,
+                                    @Param("afterUserId") long afterUserId, @Param("afterId") long afterId,
+                                    Pageable pageable);
+
+    @Query("SELECT r FROM RecurringRule r WHERE r.id IN :ids ORDER BY r.userId, r.id")
+    List<RecurringRule> findByIdIn(@Param("ids") Collection<Long> ids);
+}
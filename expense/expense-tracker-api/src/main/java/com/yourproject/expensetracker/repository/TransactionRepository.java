@@ -2,25 +2,74 @@ package com.yourproject.expensetracker.repository;
 
 import com.yourproject.expensetracker.model.Transaction;
 import com.yourproject.expensetracker.model.TransactionType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
     List<Transaction> findByUserIdOrderByDateDesc(Long userId);
     List<Transaction> findByUserIdAndCategoryId(Long userId, Long categoryId);
     List<Transaction> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+    List<Transaction> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    // Writers read the version they change under a row lock (SELECT ... FOR UPDATE), which always
+    // sees the latest committed row; the ledger applies its delta from exactly that version
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Transaction> findLockedByIdAndUserId(Long id, Long userId);
+
+    // Locked in id order, so two batches touching the same rows cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Transaction> findLockedByUserIdAndIdInOrderById(Long userId, Collection<Long> ids);
+
+    // Ordering on userId too lets the planner read idx_transactions_user_date_id in order and stop at
+    // the page size; without it H2 sorts the user's whole history. Checked by RepositoryQueryPlanTest.
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.userId, t.date DESC, t.id DESC")
+    List<Transaction> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.userId, t.date DESC, t.id DESC")
+    Stream<Transaction> streamByUserId(@Param("userId") Long userId);
+
+    // Scalar columns only, for the in-memory analytics load: no entities enter the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.date, t.amount, t.categoryId, t.type FROM Transaction t WHERE t.userId = :userId ORDER BY t.userId, t.date DESC, t.id DESC")
+    Stream<Object[]> streamColumnsByUserId(@Param("userId") Long userId);
+
+    // The redundant date <= :date bounds the index range so the scan starts at the cursor
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.date <= :date AND (t.date < :date OR (t.date = :date AND t.id < :id)) ORDER BY t.userId, t.date DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAfter(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("id") Long id, Pageable pageable);
     
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.type = :type")
     BigDecimal sumByUserIdAndType(@Param("userId") Long userId, @Param("type") TransactionType type);
     
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.type = :type AND t.date BETWEEN :startDate AND :endDate")
     BigDecimal sumByUserIdAndTypeAndDateBetween(@Param("userId") Long userId, @Param("type") TransactionType type, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t.categoryId, t.type, SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate GROUP BY t.categoryId, t.type")
+    List<Object[]> sumByCategoryAndTypeBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t.date, t.type, SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate GROUP BY t.date, t.type")
+    List<Object[]> sumByDateAndTypeBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t.categoryId, t.type, extract(YEAR from t.date), extract(MONTH from t.date), SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.userId = :userId GROUP BY t.categoryId, t.type, extract(YEAR from t.date), extract(MONTH from t.date)")
+    List<Object[]> sumByCategoryTypeAndMonth(@Param("userId") Long userId);
 }
\ No newline at end of file
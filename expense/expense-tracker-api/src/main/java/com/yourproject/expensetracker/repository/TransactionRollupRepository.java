@@ -0,0 +1,58 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.TransactionRollup;
+import com.yourproject.expensetracker.model.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    @Modifying
+    @Query("UPDATE TransactionRollup r SET r.total = r.total + :amount, r.transactionCount = r.transactionCount + :count " +
+           "WHERE r.userId = :userId AND r.monthStart = :monthStart AND r.categoryId = :categoryId AND r.type = :type")
+    int addToRollup(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+                    @Param("categoryId") Long categoryId, @Param("type") TransactionType type,
+                    @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    /**
+     * One bucket's running total, or null if the bucket has no rows. A scalar query, so it reads
+     * the row as just updated rather than any stale managed copy.
+     */
+    @Query("SELECT r.total FROM TransactionRollup r WHERE r.userId = :userId AND r.monthStart = :monthStart" +
+           " AND r.categoryId = :categoryId AND r.type = :type")
+    BigDecimal findTotal(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+                         @Param("categoryId") Long categoryId, @Param("type") TransactionType type);
+
+    @Query("SELECT SUM(r.total) FROM TransactionRollup r WHERE r.userId = :userId AND r.monthStart = :monthStart" +
+           " AND r.type = :type")
+    BigDecimal sumTotal(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+                        @Param("type") TransactionType type);
+
+    List<TransactionRollup> findByUserIdAndMonthStartBetween(Long userId, LocalDate fromMonth, LocalDate toMonth);
+
+    // Users with transactions but no rollups: their ledger row predates the rollups
+    @Query("SELECT u.id FROM User u WHERE EXISTS (SELECT t.id FROM Transaction t WHERE t.userId = u.id)" +
+           " AND NOT EXISTS (SELECT r.id FROM TransactionRollup r WHERE r.userId = u.id)")
+    List<Long> findUserIdsWithoutRollups();
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r.monthStart, r.type, SUM(r.total), SUM(r.transactionCount) FROM TransactionRollup r " +
+           "WHERE r.userId = :userId AND r.monthStart BETWEEN :fromMonth AND :toMonth GROUP BY r.monthStart, r.type")
+    List<Object[]> sumByMonth(@Param("userId") Long userId, @Param("fromMonth") LocalDate fromMonth,
+                              @Param("toMonth") LocalDate toMonth);
+
+    @Query("SELECT r.categoryId, r.type, SUM(r.total), SUM(r.transactionCount) FROM TransactionRollup r " +
+           "WHERE r.userId = :userId AND r.monthStart BETWEEN :fromMonth AND :toMonth GROUP BY r.categoryId, r.type")
+    List<Object[]> sumByCategory(@Param("userId") Long userId, @Param("fromMonth") LocalDate fromMonth,
+                                 @Param("toMonth") LocalDate toMonth);
+}
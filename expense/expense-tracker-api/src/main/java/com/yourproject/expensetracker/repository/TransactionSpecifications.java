@@ -0,0 +1,66 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Predicates for the transaction search. Every search starts from {@link #ownedBy} so the
+ * generated SQL always leads with user_id and stays on the user-scoped indexes; absent filters
+ * contribute nothing, so one parameterized statement covers every combination.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {}
+
+    public static Specification<Transaction> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Transaction> dateFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Transaction> dateTo(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), to);
+    }
+
+    public static Specification<Transaction> ofType(TransactionType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> inCategories(Collection<Long> categoryIds) {
+        return categoryIds == null || categoryIds.isEmpty()
+                ? null : (root, query, cb) -> root.get("categoryId").in(categoryIds);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal min) {
+        return min == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), min);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal max) {
+        return max == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), max);
+    }
+
+    /**
+     * Rows that come after (value, id) in the given order. The plain bound on the sort column is
+     * redundant with the OR, but it gives the planner an index range to start the scan from.
+     */
+    public static <T extends Comparable<? super T>> Specification<Transaction> after(String property, T value,
+                                                                                     Long id, boolean descending) {
+        return (root, query, cb) -> {
+            Path<T> key = root.get(property);
+            Path<Long> rowId = root.get("id");
+            if (descending) {
+                return cb.and(cb.lessThanOrEqualTo(key, value),
+                        cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(rowId, id))));
+            }
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(rowId, id))));
+        };
+    }
+}
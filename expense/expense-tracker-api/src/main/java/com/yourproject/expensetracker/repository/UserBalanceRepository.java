@@ -0,0 +1,21 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.UserBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface UserBalanceRepository extends JpaRepository<UserBalance, Long> {
+
+    @Modifying
+    @Query("UPDATE UserBalance b SET b.totalIncome = b.totalIncome + :income, b.totalExpense = b.totalExpense + :expense WHERE b.userId = :userId")
+    int addToTotals(@Param("userId") Long userId, @Param("income") BigDecimal income, @Param("expense") BigDecimal expense);
+
+    @Query("SELECT u.id FROM User u WHERE NOT EXISTS (SELECT b.userId FROM UserBalance b WHERE b.userId = u.id)")
+    List<Long> findUserIdsWithoutBalance();
+}
@@ -0,0 +1,23 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.model.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    @Modifying
+    @Query("UPDATE UserDataVersion v SET v.version = v.version + 1 WHERE v.userId = :userId")
+    int increment(@Param("userId") Long userId);
+
+    @Query("SELECT v.version FROM UserDataVersion v WHERE v.userId = :userId")
+    Long findVersion(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserDataVersion v SET v.changeLogFloor = :version WHERE v.userId = :userId AND v.changeLogFloor < :version")
+    int raiseChangeLogFloor(@Param("userId") Long userId, @Param("version") long version);
+}
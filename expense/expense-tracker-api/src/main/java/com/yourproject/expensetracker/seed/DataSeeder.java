@@ -0,0 +1,247 @@
+package com.yourproject.expensetracker.seed;
+
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.RegisterRequest;
+import com.yourproject.expensetracker.model.Category;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.UserRepository;
+import com.yourproject.expensetracker.service.CategoryCatalog;
+import com.yourproject.expensetracker.service.CategoryService;
+import com.yourproject.expensetracker.service.TransactionChunkWriter;
+import com.yourproject.expensetracker.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with load-test users and years of transactions. Runs once all beans exist
+ * but before the web server starts, so a load driver never sees a half-seeded app. Users that
+ * already exist are skipped, which makes re-runs against a file or MySQL database cheap.
+ */
+@Component
+@Profile("seed")
+public class DataSeeder implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    // Relative frequency and amount range (INR) of everyday spending, by built-in category
+    private static final Object[][] DAILY_EXPENSES = {
+            {"Food & Dining", 20, 150, 2500},
+            {"Groceries", 18, 200, 6000},
+            {"Transportation", 14, 40, 800},
+            {"Shopping", 8, 300, 8000},
+            {"Fuel", 6, 500, 4000},
+            {"Entertainment", 4, 200, 3000},
+            {"Clothing", 3, 500, 7000},
+            {"Movies & Shows", 3, 150, 1200},
+            {"Pharmacy", 3, 50, 2000},
+            {"Personal Care", 3, 100, 2500},
+            {"Other", 3, 50, 3000},
+            {"Healthcare", 2, 500, 15000},
+            {"Travel", 2, 1500, 40000},
+            {"Gym & Fitness", 2, 500, 3000},
+            {"Gifts & Donations", 2, 200, 10000},
+            {"Education", 1, 1000, 50000},
+            {"Books & Courses", 1, 300, 5000},
+            {"Hotel & Accommodation", 1, 2000, 20000},
+            {"Bank Fees", 1, 10, 600},
+    };
+
+    private static final Object[][] OCCASIONAL_INCOME = {
+            {"Freelance", 1, 5000, 80000},
+            {"Investment", 1, 500, 30000},
+            {"Other Income", 1, 100, 5000},
+    };
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private TransactionChunkWriter chunkWriter;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${seed.users:10}")
+    private int users;
+
+    @Value("${seed.transactions-per-user:100000}")
+    private int transactionsPerUser;
+
+    @Value("${seed.years:3}")
+    private int years;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.username-prefix:loaduser}")
+    private String usernamePrefix;
+
+    @Value("${seed.password:password123}")
+    private String password;
+
+    @Value("${transactions.import.chunk-size:5000}")
+    private int chunkSize;
+
+    private final Map<String, Category> builtIns = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.currentTimeMillis();
+        catalog.getCategories().forEach(category -> builtIns.put(category.getName(), category));
+        // Every seeded user shares one password, so hash it once instead of once per user
+        String passwordHash = passwordEncoder.encode(password);
+        long rows = 0;
+        for (int n = 1; n <= users; n++) {
+            String username = usernamePrefix + n;
+            if (userRepository.existsByUsername(username)) {
+                continue;
+            }
+            rows += seedUser(username, passwordHash, new Random(randomSeed + n));
+        }
+        log.info("Seeded {} transactions for up to {} users in {} ms", rows, users,
+                System.currentTimeMillis() - started);
+    }
+
+    private long seedUser(String username, String passwordHash, Random random) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword(password);
+        Long userId = userService.registerUser(request, passwordHash).getId();
+
+        Long schoolFees = categoryService.createCategory(userId,
+                new CategoryDto(null, "Kids School Fees", TransactionType.EXPENSE)).getId();
+        Long sideProject = categoryService.createCategory(userId,
+                new CategoryDto(null, "Side Project", TransactionType.INCOME)).getId();
+
+        LocalDate end = LocalDate.now();
+        LocalDate start = end.minusYears(years).withDayOfMonth(1);
+        int days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        long written = 0;
+
+        // Fixed monthly commitments first, then fill the rest of the quota with everyday activity
+        for (LocalDate month = start; !month.isAfter(end) && written + chunk.size() < transactionsPerUser;
+             month = month.plusMonths(1)) {
+            chunk.add(fixed(userId, "Salary", month.withDayOfMonth(1), 75000, random));
+            chunk.add(fixed(userId, "Rent", month.withDayOfMonth(5), 22000, random));
+            chunk.add(fixed(userId, "Internet & Phone", month.withDayOfMonth(10), 1200, random));
+            chunk.add(fixed(userId, "Bills & Utilities", month.withDayOfMonth(15), 3500, random));
+            chunk.add(new Transaction(userId, schoolFees, amount(random, 8000, 15000), "School fees",
+                    month.withDayOfMonth(20), TransactionType.EXPENSE));
+            if (month.getMonthValue() % 3 == 0) {
+                chunk.add(fixed(userId, "Insurance", month.withDayOfMonth(25), 6000, random));
+            }
+            if (month.getMonthValue() == 3) {
+                chunk.add(fixed(userId, "Bonus", month.withDayOfMonth(28), 100000, random));
+            }
+            if (chunk.size() >= chunkSize) {
+                written += writeChunk(userId, chunk);
+            }
+        }
+
+        int dailyWeight = totalWeight(DAILY_EXPENSES);
+        int incomeWeight = totalWeight(OCCASIONAL_INCOME);
+        while (written + chunk.size() < transactionsPerUser) {
+            LocalDate date = start.plusDays(random.nextInt(days));
+            if (random.nextInt(50) == 0) {
+                if (random.nextInt(6) == 0) {
+                    chunk.add(new Transaction(userId, sideProject, amount(random, 2000, 40000), "Side project payout",
+                            date, TransactionType.INCOME));
+                } else {
+                    chunk.add(pick(userId, OCCASIONAL_INCOME, incomeWeight, date, TransactionType.INCOME, random));
+                }
+            } else {
+                chunk.add(pick(userId, DAILY_EXPENSES, dailyWeight, date, TransactionType.EXPENSE, random));
+            }
+            if (chunk.size() >= chunkSize) {
+                written += writeChunk(userId, chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            written += writeChunk(userId, chunk);
+        }
+        log.info("Seeded user {} with {} transactions", username, written);
+        return written;
+    }
+
+    private int writeChunk(Long userId, List<Transaction> chunk) {
+        transactionTemplate.executeWithoutResult(status -> chunkWriter.write(userId, chunk));
+        int size = chunk.size();
+        chunk.clear();
+        return size;
+    }
+
+    private Transaction fixed(Long userId, String categoryName, LocalDate date, int typical, Random random) {
+        Category category = category(categoryName);
+        // Recurring amounts drift a little month to month, as real bills do
+        BigDecimal amount = BigDecimal.valueOf(Math.round(typical * (0.9 + random.nextDouble() * 0.2) * 100), 2);
+        return new Transaction(userId, category.getId(), amount, categoryName, date, category.getType());
+    }
+
+    private Transaction pick(Long userId, Object[][] table, int totalWeight, LocalDate date, TransactionType type,
+                             Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Object[] row : table) {
+            roll -= (Integer) row[1];
+            if (roll < 0) {
+                String name = (String) row[0];
+                return new Transaction(userId, category(name).getId(),
+                        amount(random, (Integer) row[2], (Integer) row[3]), name, date, type);
+            }
+        }
+        throw new IllegalStateException("Weights do not cover the roll");
+    }
+
+    private Category category(String name) {
+        Category category = builtIns.get(name);
+        if (category == null) {
+            throw new IllegalStateException("No built-in category " + name);
+        }
+        return category;
+    }
+
+    /**
+     * Skewed towards the low end of the range: most purchases are small, a few are large.
+     */
+    private static BigDecimal amount(Random random, int min, int max) {
+        double r = random.nextDouble();
+        return BigDecimal.valueOf(Math.round((min + (max - min) * r * r) * 100), 2);
+    }
+
+    private static int totalWeight(Object[][] table) {
+        int total = 0;
+        for (Object[] row : table) {
+            total += (Integer) row[1];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,319 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.cache.InvalidatingCache;
+import com.yourproject.expensetracker.dto.BudgetAlertDto;
+import com.yourproject.expensetracker.dto.BudgetDto;
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.events.ChangeEvent;
+import com.yourproject.expensetracker.events.ChangeStreamHub;
+import com.yourproject.expensetracker.exception.BudgetNotFoundException;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.Budget;
+import com.yourproject.expensetracker.model.BudgetAlert;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.BudgetAlertRepository;
+import com.yourproject.expensetracker.repository.BudgetRepository;
+import com.yourproject.expensetracker.repository.TransactionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Monthly spending limits, per expense category or across all spending, and the alerts raised
+ * as spending reaches them. Spend is never summed from transactions: the ledger keeps the
+ * (user, month, category, type) rollups current on every write, so checking a category budget
+ * reads one rollup row and checking the overall budget reads the month's rows.
+ *
+ * <p>Thresholds are checked in the writer's transaction, after the ledger has locked the user's
+ * balance row, and only for the current month. Each budget alerts once per month for the highest
+ * threshold reached; a write that jumps past several thresholds sends only the highest.
+ */
+@Service
+public class BudgetService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository alertRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private InvalidatingCache<Long, List<Budget>> budgetCache;
+
+    @Autowired
+    private ChangeStreamHub changeStreamHub;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${budgets.alert-thresholds:80,100}")
+    private List<Integer> alertThresholds;
+
+    @Value("${budgets.max-per-user:50}")
+    private int maxBudgetsPerUser;
+
+    @Value("${budgets.alerts.page-size:50}")
+    private int alertPageSize;
+
+    private final LongAdder alertsRaised = new LongAdder();
+
+    /**
+     * The user's budgets with this month's spend against each.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetDto> getUserBudgets(Long userId) {
+        List<Budget> budgets = budgetRepository.findByUserId(userId);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        LocalDate month = currentMonth();
+        Map<Long, BigDecimal> spentByCategory = new HashMap<>();
+        BigDecimal spentOverall = BigDecimal.ZERO;
+        for (Object[] row : rollupRepository.sumByCategory(userId, month, month)) {
+            if (row[1] == TransactionType.EXPENSE) {
+                spentByCategory.put((Long) row[0], (BigDecimal) row[2]);
+                spentOverall = spentOverall.add((BigDecimal) row[2]);
+            }
+        }
+        Map<Long, String> names = categoryNames(userId, budgets.stream().map(Budget::getCategoryId));
+        BigDecimal overall = spentOverall;
+        return budgets.stream()
+                // The overall budget first, then category budgets in the order they were created
+                .sorted(Comparator.comparing((Budget budget) -> budget.getCategoryId() != null).thenComparing(Budget::getId))
+                .map(budget -> convertToDto(budget, names.get(budget.getCategoryId()), month,
+                        budget.getCategoryId() == null ? overall
+                                : spentByCategory.getOrDefault(budget.getCategoryId(), BigDecimal.ZERO)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public BudgetDto createBudget(Long userId, BudgetDto budgetDto) {
+        List<Budget> existing = budgetRepository.findByUserId(userId);
+        if (existing.size() >= maxBudgetsPerUser) {
+            throw new InvalidRequestException("At most " + maxBudgetsPerUser + " budgets are allowed");
+        }
+        if (existing.stream().anyMatch(budget -> Objects.equals(budget.getCategoryId(), budgetDto.getCategoryId()))) {
+            throw new InvalidRequestException(budgetDto.getCategoryId() == null
+                    ? "An overall budget already exists" : "A budget for this category already exists");
+        }
+        String categoryName = checkCategory(userId, budgetDto.getCategoryId());
+        checkAmount(budgetDto.getAmount());
+
+        Budget budget = new Budget(userId);
+        budget.setCategoryId(budgetDto.getCategoryId());
+        budget.setAmount(budgetDto.getAmount());
+        budgetRepository.saveAndFlush(budget);
+        budgetCache.invalidate(userId);
+        // Spending may already be over a threshold of the new budget
+        return convertToDto(budget, categoryName, currentMonth(), check(budget, currentMonth()));
+    }
+
+    /**
+     * Changes the amount. Alerts already sent this month are forgotten, so the thresholds of the
+     * new amount alert afresh, straight away if spending has already reached them.
+     */
+    @Transactional
+    public BudgetDto updateBudget(Long userId, Long budgetId, BudgetDto budgetDto) {
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new BudgetNotFoundException("Budget not found"));
+        if (!Objects.equals(budget.getCategoryId(), budgetDto.getCategoryId())) {
+            throw new InvalidRequestException("A budget's category cannot be changed");
+        }
+        checkAmount(budgetDto.getAmount());
+
+        String categoryName = budget.getCategoryId() == null ? null
+                : categoryService.resolveCategoryNames(userId, List.of(budget.getCategoryId())).get(budget.getCategoryId());
+        if (budget.getAmount().compareTo(budgetDto.getAmount()) != 0) {
+            budget.setAmount(budgetDto.getAmount());
+            budget.setAlertMonth(null);
+            budget.setAlertPercent(null);
+            budgetRepository.saveAndFlush(budget);
+            budgetCache.invalidate(userId);
+        }
+        return convertToDto(budget, categoryName, currentMonth(), check(budget, currentMonth()));
+    }
+
+    /**
+     * Removes the budget. Alerts it already raised are kept.
+     */
+    @Transactional
+    public void deleteBudget(Long userId, Long budgetId) {
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new BudgetNotFoundException("Budget not found"));
+        budgetRepository.delete(budget);
+        budgetCache.invalidate(userId);
+    }
+
+    /**
+     * Called from {@link LedgerService} with the rows a write created or changed, after the
+     * rollups include them. Does nothing, without touching the database, unless one of the rows
+     * is a current-month expense and the user has a budget it counts against.
+     */
+    public void checkThresholds(Long userId, List<Transaction> changed) {
+        LocalDate month = currentMonth();
+        Set<Long> categoryIds = null;
+        for (Transaction transaction : changed) {
+            if (transaction.getType() == TransactionType.EXPENSE
+                    && month.equals(transaction.getDate().withDayOfMonth(1))) {
+                if (categoryIds == null) {
+                    categoryIds = new HashSet<>();
+                }
+                categoryIds.add(transaction.getCategoryId());
+            }
+        }
+        if (categoryIds == null) {
+            return;
+        }
+        for (Budget budget : budgetCache.get(userId, budgetRepository::findByUserId)) {
+            if (budget.getCategoryId() == null || categoryIds.contains(budget.getCategoryId())) {
+                check(budget, month);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetAlertDto> getAlerts(Long userId, boolean unreadOnly) {
+        PageRequest page = PageRequest.of(0, alertPageSize);
+        List<BudgetAlert> alerts = unreadOnly
+                ? alertRepository.findLatestUnread(userId, page) : alertRepository.findLatest(userId, page);
+        Map<Long, String> names = categoryNames(userId, alerts.stream().map(BudgetAlert::getCategoryId));
+        return alerts.stream()
+                .map(alert -> convertToDto(alert, names.get(alert.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void markAlertRead(Long userId, Long alertId) {
+        BudgetAlert alert = alertRepository.findByIdAndUserId(alertId, userId)
+                .orElseThrow(() -> new BudgetNotFoundException("Alert not found"));
+        if (alert.getReadAt() == null) {
+            alert.setReadAt(System.currentTimeMillis());
+        }
+    }
+
+    @Transactional
+    public void markAllAlertsRead(Long userId) {
+        alertRepository.markAllRead(userId, System.currentTimeMillis());
+    }
+
+    public long getAlertCount() {
+        return alertsRaised.sum();
+    }
+
+    /**
+     * Raises an alert if this month's spend against the budget has reached a threshold not yet
+     * alerted on, and returns the spend.
+     */
+    private BigDecimal check(Budget budget, LocalDate month) {
+        BigDecimal spent = budget.getCategoryId() == null
+                ? rollupRepository.sumTotal(budget.getUserId(), month, TransactionType.EXPENSE)
+                : rollupRepository.findTotal(budget.getUserId(), month, budget.getCategoryId(), TransactionType.EXPENSE);
+        if (spent == null) {
+            return BigDecimal.ZERO;
+        }
+        int reached = 0;
+        BigDecimal scaled = spent.multiply(HUNDRED);
+        for (int threshold : alertThresholds) {
+            if (threshold > reached && scaled.compareTo(budget.getAmount().multiply(BigDecimal.valueOf(threshold))) >= 0) {
+                reached = threshold;
+            }
+        }
+        if (reached == 0 || budgetRepository.markAlerted(budget.getId(), month, reached) == 0) {
+            return spent;
+        }
+
+        BudgetAlert alert = alertRepository.save(new BudgetAlert(budget, month, reached, spent, System.currentTimeMillis()));
+        alertsRaised.increment();
+        if (changeStreamHub.isListening(budget.getUserId())) {
+            String categoryName = budget.getCategoryId() == null ? null : categoryService
+                    .resolveCategoryNames(budget.getUserId(), List.of(budget.getCategoryId())).get(budget.getCategoryId());
+            eventPublisher.publishEvent(ChangeEvent.budgetAlert(budget.getUserId(), convertToDto(alert, categoryName)));
+        }
+        return spent;
+    }
+
+    /**
+     * Checks that a category budget is on an expense category the user can use, and returns its name.
+     */
+    private String checkCategory(Long userId, Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        CategoryDto category = categoryService.getAccessibleCategory(userId, categoryId);
+        if (category.getType() != TransactionType.EXPENSE) {
+            throw new InvalidRequestException("Budgets can only be set on expense categories");
+        }
+        return category.getName();
+    }
+
+    private static void checkAmount(BigDecimal amount) {
+        if (amount.scale() > 2) {
+            throw new InvalidRequestException("Amount must have at most 2 decimals");
+        }
+    }
+
+    // Looked up with the null id of the overall budget too, so never an immutable Map
+    private Map<Long, String> categoryNames(Long userId, Stream<Long> categoryIds) {
+        Set<Long> ids = categoryIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        return ids.isEmpty() ? new HashMap<>() : categoryService.resolveCategoryNames(userId, ids);
+    }
+
+    private static LocalDate currentMonth() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+
+    private BudgetDto convertToDto(Budget budget, String categoryName, LocalDate month, BigDecimal spent) {
+        BudgetDto dto = new BudgetDto();
+        dto.setId(budget.getId());
+        dto.setCategoryId(budget.getCategoryId());
+        dto.setAmount(budget.getAmount());
+        dto.setCategoryName(categoryName);
+        dto.setMonth(month);
+        dto.setSpent(spent);
+        dto.setPercentUsed(spent.multiply(HUNDRED).divide(budget.getAmount(), 0, RoundingMode.DOWN).intValue());
+        return dto;
+    }
+
+    private BudgetAlertDto convertToDto(BudgetAlert alert, String categoryName) {
+        BudgetAlertDto dto = new BudgetAlertDto();
+        dto.setId(alert.getId());
+        dto.setBudgetId(alert.getBudgetId());
+        dto.setCategoryId(alert.getCategoryId());
+        dto.setCategoryName(categoryName);
+        dto.setMonth(alert.getMonthStart());
+        dto.setThreshold(alert.getThreshold());
+        dto.setSpent(alert.getSpent());
+        dto.setBudgetAmount(alert.getBudgetAmount());
+        dto.setMessage(alert.getThreshold() + "% of " + (alert.getCategoryId() == null ? "your monthly"
+                : (categoryName != null ? categoryName : "a deleted category's")) + " budget used");
+        dto.setCreatedAt(Instant.ofEpochMilli(alert.getCreatedAt()));
+        dto.setRead(alert.getReadAt() != null);
+        return dto;
+    }
+}
@@ -0,0 +1,96 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.model.Category;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Built-in categories every user sees. They are stored once with a null owner and held in
+ * memory, since they only change with a deploy.
+ */
+@Component
+public class CategoryCatalog {
+
+    private static final Object[][] DEFAULTS = {
+            // Default Income Categories
+            {"Salary", TransactionType.INCOME},
+            {"Freelance", TransactionType.INCOME},
+            {"Business", TransactionType.INCOME},
+            {"Investment", TransactionType.INCOME},
+            {"Rental Income", TransactionType.INCOME},
+            {"Bonus", TransactionType.INCOME},
+            {"Gift Received", TransactionType.INCOME},
+            {"Other Income", TransactionType.INCOME},
+
+            // Default Expense Categories
+            {"Food & Dining", TransactionType.EXPENSE},
+            {"Groceries", TransactionType.EXPENSE},
+            {"Transportation", TransactionType.EXPENSE},
+            {"Fuel", TransactionType.EXPENSE},
+            {"Shopping", TransactionType.EXPENSE},
+            {"Clothing", TransactionType.EXPENSE},
+            {"Entertainment", TransactionType.EXPENSE},
+            {"Movies & Shows", TransactionType.EXPENSE},
+            {"Bills & Utilities", TransactionType.EXPENSE},
+            {"Rent", TransactionType.EXPENSE},
+            {"Internet & Phone", TransactionType.EXPENSE},
+            {"Healthcare", TransactionType.EXPENSE},
+            {"Pharmacy", TransactionType.EXPENSE},
+            {"Education", TransactionType.EXPENSE},
+            {"Books & Courses", TransactionType.EXPENSE},
+            {"Travel", TransactionType.EXPENSE},
+            {"Hotel & Accommodation", TransactionType.EXPENSE},
+            {"Insurance", TransactionType.EXPENSE},
+            {"Gym & Fitness", TransactionType.EXPENSE},
+            {"Personal Care", TransactionType.EXPENSE},
+            {"Gifts & Donations", TransactionType.EXPENSE},
+            {"Bank Fees", TransactionType.EXPENSE},
+            {"Other", TransactionType.EXPENSE},
+    };
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private volatile List<Category> categories = Collections.emptyList();
+    private volatile Map<Long, Category> categoriesById = Collections.emptyMap();
+
+    @PostConstruct
+    void load() {
+        List<Category> stored = new ArrayList<>(categoryRepository.findByUserIdIsNull());
+        List<Category> missing = new ArrayList<>();
+        for (Object[] definition : DEFAULTS) {
+            String name = (String) definition[0];
+            TransactionType type = (TransactionType) definition[1];
+            boolean present = stored.stream()
+                    .anyMatch(category -> category.getName().equals(name) && category.getType() == type);
+            if (!present) {
+                missing.add(new Category(null, name, type));
+            }
+        }
+        if (!missing.isEmpty()) {
+            stored.addAll(categoryRepository.saveAll(missing));
+        }
+        stored.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+
+        Map<Long, Category> byId = new LinkedHashMap<>();
+        stored.forEach(category -> byId.put(category.getId(), category));
+        categoriesById = Collections.unmodifiableMap(byId);
+        categories = Collections.unmodifiableList(stored);
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public Category get(Long id) {
+        return categoriesById.get(id);
+    }
+}
@@ -1,16 +1,31 @@
 package com.yourproject.expensetracker.service;
 
+import com.yourproject.expensetracker.cache.InvalidatingCache;
 import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.events.ChangeEvent;
+import com.yourproject.expensetracker.events.ChangeStreamHub;
 import com.yourproject.expensetracker.exception.CategoryNotFoundException;
-import com.yourproject.expensetracker.exception.UnauthorizedAccessException;
 import com.yourproject.expensetracker.model.Category;
+import com.yourproject.expensetracker.model.CategoryOverride;
+import com.yourproject.expensetracker.repository.CategoryOverrideRepository;
 import com.yourproject.expensetracker.repository.CategoryRepository;
-import com.yourproject.expensetracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * A user's categories are the built-in catalog (minus anything they hid, with their renames
+ * applied) followed by their own custom categories. Reads are served from a per-user snapshot in
+ * {@code categoryCache}; every write here evicts it once the transaction commits.
+ */
 @Service
 public class CategoryService {
 
@@ -18,36 +33,186 @@ public class CategoryService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CategoryOverrideRepository overrideRepository;
 
-    public List<CategoryDto> getUserCategories(String username) {
-        Long userId = getUserIdByUsername(username);
-        return categoryRepository.findByUserId(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private InvalidatingCache<Long, UserCategories> categoryCache;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChangeStreamHub changeStreamHub;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<CategoryDto> getUserCategories(Long userId) {
+        UserCategories userCategories = load(userId);
+        List<Category> custom = userCategories.getCustom();
+
+        // Accounts created before the shared catalog own copies of the defaults; those copies
+        // shadow the built-in category of the same name so the list shows no duplicates
+        Set<String> customKeys = custom.stream().map(CategoryService::key).collect(Collectors.toSet());
+
+        List<CategoryDto> categories = new ArrayList<>();
+        for (Category category : catalog.getCategories()) {
+            CategoryOverride override = userCategories.getOverride(category.getId());
+            if ((override != null && override.isHidden()) || customKeys.contains(key(category))) {
+                continue;
+            }
+            categories.add(convertToDto(category, override));
+        }
+        for (Category category : custom) {
+            categories.add(convertToDto(category, null));
+        }
+        return categories;
+    }
+
+    /**
+     * Returns the category if the user can currently file transactions under it.
+     */
+    public CategoryDto getAccessibleCategory(Long userId, Long categoryId) {
+        Category system = categoryId != null ? catalog.get(categoryId) : null;
+        UserCategories userCategories = load(userId);
+        if (system != null) {
+            CategoryOverride override = userCategories.getOverride(categoryId);
+            if (override != null && override.isHidden()) {
+                throw new CategoryNotFoundException("Category not found");
+            }
+            return convertToDto(system, override);
+        }
+        Category category = categoryId != null ? userCategories.getCustom(categoryId) : null;
+        if (category == null) {
+            throw new CategoryNotFoundException("Category not found");
+        }
+        return convertToDto(category, null);
+    }
+
+    /**
+     * Display names for the given category ids as this user sees them. Hidden built-in
+     * categories still resolve so that older transactions keep their label.
+     */
+    public Map<Long, String> resolveCategoryNames(Long userId, Collection<Long> categoryIds) {
+        UserCategories userCategories = load(userId);
+        Map<Long, String> names = new HashMap<>();
+        for (Long categoryId : categoryIds) {
+            Category system = catalog.get(categoryId);
+            if (system != null) {
+                CategoryOverride override = userCategories.getOverride(categoryId);
+                names.put(categoryId, override != null && override.getName() != null
+                        ? override.getName() : system.getName());
+                continue;
+            }
+            Category custom = userCategories.getCustom(categoryId);
+            if (custom != null) {
+                names.put(categoryId, custom.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Display names for every category the user's transactions may reference.
+     */
+    public Map<Long, String> getAllCategoryNames(Long userId) {
+        UserCategories userCategories = load(userId);
+        Map<Long, String> names = new HashMap<>();
+        catalog.getCategories().forEach(category -> names.put(category.getId(), category.getName()));
+        userCategories.getOverrides().forEach(override -> {
+            if (override.getName() != null) {
+                names.put(override.getCategoryId(), override.getName());
+            }
+        });
+        userCategories.getCustom().forEach(category -> names.put(category.getId(), category.getName()));
+        return names;
     }
 
-    public CategoryDto createCategory(String username, CategoryDto categoryDto) {
-        Long userId = getUserIdByUsername(username);
+    @Transactional
+    public CategoryDto createCategory(Long userId, CategoryDto categoryDto) {
         Category category = new Category(userId, categoryDto.getName(), categoryDto.getType());
         Category savedCategory = categoryRepository.save(category);
-        return convertToDto(savedCategory);
+        changeLogService.recordCategory(userId, dataVersionService.bump(userId), savedCategory.getId(), false);
+        categoryCache.invalidate(userId);
+        CategoryDto created = convertToDto(savedCategory, null);
+        publishChange(userId, ChangeEvent.CATEGORY_CREATED, created, created.getId());
+        return created;
     }
 
-    public void deleteCategory(String username, Long categoryId) {
-        Long userId = getUserIdByUsername(username);
+    @Transactional
+    public CategoryDto renameCategory(Long userId, Long categoryId, String name) {
+        Category system = catalog.get(categoryId);
+        if (system != null) {
+            CategoryOverride override = findOrCreateOverride(userId, categoryId);
+            if (override.isHidden()) {
+                throw new CategoryNotFoundException("Category not found");
+            }
+            override.setName(name.equals(system.getName()) ? null : name);
+            changeLogService.recordCategory(userId, dataVersionService.bump(userId), categoryId, false);
+            categoryCache.invalidate(userId);
+            CategoryDto renamed = convertToDto(system, overrideRepository.save(override));
+            publishChange(userId, ChangeEvent.CATEGORY_UPDATED, renamed, categoryId);
+            return renamed;
+        }
+        Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
+                .orElseThrow(() -> new CategoryNotFoundException("Category not found"));
+        category.setName(name);
+        changeLogService.recordCategory(userId, dataVersionService.bump(userId), categoryId, false);
+        categoryCache.invalidate(userId);
+        CategoryDto renamed = convertToDto(categoryRepository.save(category), null);
+        publishChange(userId, ChangeEvent.CATEGORY_UPDATED, renamed, categoryId);
+        return renamed;
+    }
+
+    @Transactional
+    public void deleteCategory(Long userId, Long categoryId) {
+        if (catalog.get(categoryId) != null) {
+            // Built-in categories are shared, so "deleting" one only hides it for this user
+            CategoryOverride override = findOrCreateOverride(userId, categoryId);
+            override.setHidden(true);
+            overrideRepository.save(override);
+            changeLogService.recordCategory(userId, dataVersionService.bump(userId), categoryId, true);
+            categoryCache.invalidate(userId);
+            publishChange(userId, ChangeEvent.CATEGORY_DELETED, null, categoryId);
+            return;
+        }
         Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new CategoryNotFoundException("Category not found"));
         categoryRepository.delete(category);
+        changeLogService.recordCategory(userId, dataVersionService.bump(userId), categoryId, true);
+        categoryCache.invalidate(userId);
+        publishChange(userId, ChangeEvent.CATEGORY_DELETED, null, categoryId);
+    }
+
+    private void publishChange(Long userId, String type, CategoryDto category, Long categoryId) {
+        if (changeStreamHub.isListening(userId)) {
+            eventPublisher.publishEvent(ChangeEvent.category(userId, type, category, categoryId));
+        }
+    }
+
+    private CategoryOverride findOrCreateOverride(Long userId, Long categoryId) {
+        return overrideRepository.findByUserIdAndCategoryId(userId, categoryId)
+                .orElseGet(() -> new CategoryOverride(userId, categoryId));
+    }
+
+    private UserCategories load(Long userId) {
+        return categoryCache.get(userId, id ->
+                new UserCategories(categoryRepository.findByUserId(id), overrideRepository.findByUserId(id)));
     }
 
-    private Long getUserIdByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UnauthorizedAccessException("User not found"))
-                .getId();
+    private static String key(Category category) {
+        return category.getName() + "|" + category.getType();
     }
 
-    private CategoryDto convertToDto(Category category) {
-        return new CategoryDto(category.getId(), category.getName(), category.getType());
+    private CategoryDto convertToDto(Category category, CategoryOverride override) {
+        String name = override != null && override.getName() != null ? override.getName() : category.getName();
+        return new CategoryDto(category.getId(), name, category.getType());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.ChangeLogEntry;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a user's change log: a data version and, when a page ended part-way
+ * through that version's entries, the last entry id returned. Without an id the cursor is past
+ * every entry of its version.
+ */
+public final class ChangeCursor {
+
+    private final long version;
+    private final Long entryId;
+
+    public ChangeCursor(long version, Long entryId) {
+        this.version = version;
+        this.entryId = entryId;
+    }
+
+    public static ChangeCursor atVersion(long version) {
+        return new ChangeCursor(version, null);
+    }
+
+    public static ChangeCursor after(ChangeLogEntry entry) {
+        return new ChangeCursor(entry.getVersion(), entry.getId());
+    }
+
+    public static ChangeCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                return atVersion(Long.parseLong(raw));
+            }
+            return new ChangeCursor(Long.parseLong(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = entryId != null ? version + ":" + entryId : Long.toString(version);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getVersion() { return version; }
+
+    /**
+     * Whether the cursor stops partway through its version's entries.
+     */
+    public boolean isPartial() { return entryId != null; }
+
+    /**
+     * The entry id to continue after, with {@link Long#MAX_VALUE} standing in for "all of them".
+     */
+    public long getEntryIdBound() { return entryId != null ? entryId : Long.MAX_VALUE; }
+}
@@ -0,0 +1,140 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.ChangeSetDto;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.ChangeEntityType;
+import com.yourproject.expensetracker.model.ChangeLogEntry;
+import com.yourproject.expensetracker.model.ChangeOperation;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.repository.ChangeLogRepository;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "what changed since this cursor" from the change log. Only the rows named in the
+ * log are read, in their current state, so a client that missed three edits downloads three
+ * rows however long its history is.
+ */
+@Service
+public class ChangeFeedService {
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${changes.page.default-size:500}")
+    private int defaultPageSize;
+
+    @Value("${changes.page.max-size:2000}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public ChangeSetDto getChanges(Long userId, String since, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new InvalidRequestException("Limit must be between 1 and " + maxPageSize);
+        }
+
+        ChangeSetDto changes = new ChangeSetDto();
+        long current = dataVersionService.getVersion(userId);
+        ChangeCursor cursor = since == null || since.isEmpty() ? null : ChangeCursor.decode(since);
+        // No cursor, one from before the last compaction, or one from the future (a restored
+        // database): the log cannot bridge the gap, so the client reloads and resumes from here.
+        // Compaction purges the floor version's entries too, so a cursor partway through that
+        // version is also behind the log; one past all of it is not.
+        long floor = dataVersionService.getChangeLogFloor(userId);
+        if (cursor == null || cursor.getVersion() < floor || (cursor.getVersion() == floor && cursor.isPartial())
+                || cursor.getVersion() > current) {
+            changes.setReset(true);
+            changes.setCursor(ChangeCursor.atVersion(current).encode());
+            return changes;
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findPageByUserIdAfter(userId, cursor.getVersion(),
+                cursor.getEntryIdBound(), PageRequest.of(0, pageSize + 1));
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            changes.setHasMore(true);
+        }
+        changes.setCursor(entries.isEmpty() ? since : ChangeCursor.after(entries.get(entries.size() - 1)).encode());
+
+        // A row changed several times in the window is reported once, in its current state
+        Map<Long, ChangeOperation> transactionOps = new LinkedHashMap<>();
+        Map<Long, ChangeOperation> categoryOps = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            Map<Long, ChangeOperation> ops = entry.getEntityType() == ChangeEntityType.TRANSACTION
+                    ? transactionOps : categoryOps;
+            ops.remove(entry.getEntityId());
+            ops.put(entry.getEntityId(), entry.getOperation());
+        }
+
+        addTransactions(userId, transactionOps, changes);
+        addCategories(userId, categoryOps, changes);
+        return changes;
+    }
+
+    private void addTransactions(Long userId, Map<Long, ChangeOperation> ops, ChangeSetDto changes) {
+        List<Long> upserted = ids(ops, ChangeOperation.UPSERT);
+        Map<Long, TransactionDto> current = upserted.isEmpty() ? Map.of()
+                : transactionService.convertToDtos(userId, transactionRepository.findByUserIdAndIdIn(userId, upserted))
+                        .stream().collect(Collectors.toMap(TransactionDto::getId, Function.identity()));
+        ops.forEach((id, op) -> {
+            TransactionDto transaction = current.get(id);
+            if (transaction != null) {
+                changes.getTransactions().add(transaction);
+            } else {
+                // A tombstone, or an upsert whose row a later change beyond this page deleted
+                changes.getDeletedTransactionIds().add(id);
+            }
+        });
+    }
+
+    private void addCategories(Long userId, Map<Long, ChangeOperation> ops, ChangeSetDto changes) {
+        if (ops.isEmpty()) {
+            return;
+        }
+        Map<Long, CategoryDto> visible = categoryService.getUserCategories(userId).stream()
+                .collect(Collectors.toMap(CategoryDto::getId, Function.identity()));
+        ops.forEach((id, op) -> {
+            CategoryDto category = op == ChangeOperation.UPSERT ? visible.get(id) : null;
+            if (category != null) {
+                changes.getCategories().add(category);
+            } else {
+                changes.getDeletedCategoryIds().add(id);
+            }
+        });
+    }
+
+    private static List<Long> ids(Map<Long, ChangeOperation> ops, ChangeOperation operation) {
+        List<Long> ids = new ArrayList<>();
+        ops.forEach((id, op) -> {
+            if (op == operation) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
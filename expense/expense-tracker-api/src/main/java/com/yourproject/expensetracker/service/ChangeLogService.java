@@ -0,0 +1,114 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.events.DataChangeEvent;
+import com.yourproject.expensetracker.model.ChangeEntityType;
+import com.yourproject.expensetracker.model.ChangeLogEntry;
+import com.yourproject.expensetracker.model.ChangeOperation;
+import com.yourproject.expensetracker.repository.ChangeLogRepository;
+import com.yourproject.expensetracker.repository.UserDataVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the per-user change log that {@link ChangeFeedService} serves, and keeps it small.
+ * Entries are written in the same transaction as the change, tagged with the data version that
+ * transaction bumped to, so a client's cursor never skips a committed change.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${changes.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${changes.compaction.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    /**
+     * Must run inside the transaction that made the change, with the version it bumped to.
+     */
+    public void recordTransactions(Long userId, long version, Collection<Long> upserted, Collection<Long> deleted) {
+        record(userId, version, ChangeEntityType.TRANSACTION, upserted, deleted);
+    }
+
+    public void recordTransaction(Long userId, long version, Long transactionId, boolean deleted) {
+        recordTransactions(userId, version, deleted ? List.of() : List.of(transactionId),
+                deleted ? List.of(transactionId) : List.of());
+    }
+
+    public void recordCategory(Long userId, long version, Long categoryId, boolean deleted) {
+        record(userId, version, ChangeEntityType.CATEGORY, deleted ? List.of() : List.of(categoryId),
+                deleted ? List.of(categoryId) : List.of());
+    }
+
+    private void record(Long userId, long version, ChangeEntityType type, Collection<Long> upserted,
+                        Collection<Long> deleted) {
+        long now = System.currentTimeMillis();
+        List<ChangeLogEntry> entries = new ArrayList<>(upserted.size() + deleted.size());
+        for (Long id : upserted) {
+            entries.add(new ChangeLogEntry(userId, version, type, id, ChangeOperation.UPSERT, now));
+        }
+        for (Long id : deleted) {
+            entries.add(new ChangeLogEntry(userId, version, type, id, ChangeOperation.DELETE, now));
+        }
+        changeLogRepository.saveAll(entries);
+        eventPublisher.publishEvent(new DataChangeEvent(userId, version, type, upserted, deleted));
+    }
+
+    /**
+     * Leaves at most one entry per row (the latest, which may be a tombstone) and drops whole
+     * versions older than the retention window. Runs per user, each in its own transaction.
+     */
+    @Scheduled(fixedDelayString = "${changes.compaction.interval-ms:3600000}",
+            initialDelayString = "${changes.compaction.interval-ms:3600000}")
+    public void compact() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        long removed = 0;
+        for (Long userId : changeLogRepository.findUserIds()) {
+            Long count = transactionTemplate.execute(status -> compact(userId, cutoff));
+            removed += count != null ? count : 0;
+        }
+        if (removed > 0) {
+            log.info("Change log compaction removed {} entries", removed);
+        }
+    }
+
+    private long compact(Long userId, long cutoff) {
+        long removed = 0;
+        Long expiredThrough = changeLogRepository.findMaxVersionBefore(userId, cutoff);
+        if (expiredThrough != null) {
+            // Clients whose cursor is older than this can no longer catch up from the log
+            versionRepository.raiseChangeLogFloor(userId, expiredThrough);
+            removed += changeLogRepository.deleteThroughVersion(userId, expiredThrough);
+        }
+        List<Long> superseded = changeLogRepository.findSupersededIds(userId);
+        for (int from = 0; from < superseded.size(); from += deleteBatchSize) {
+            removed += changeLogRepository.deleteByIdIn(
+                    superseded.subList(from, Math.min(from + deleteBatchSize, superseded.size())));
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,68 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.datasource.ReadYourWrites;
+import com.yourproject.expensetracker.model.UserDataVersion;
+import com.yourproject.expensetracker.repository.UserDataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A per-user counter that changes whenever anything the user can read changes. Writers bump it
+ * inside their own transaction, so a reader that sees the new data also sees the new version.
+ */
+@Service
+public class DataVersionService {
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    public void openAccount(Long userId) {
+        versionRepository.save(new UserDataVersion(userId, 1));
+    }
+
+    /**
+     * Must run inside the transaction that made the change. Returns the new version, which the
+     * increment's row lock keeps unique and in commit order for the user.
+     */
+    public long bump(Long userId) {
+        long version;
+        if (versionRepository.increment(userId) == 0) {
+            openAccount(userId);
+            version = 1;
+        } else {
+            version = versionRepository.findVersion(userId);
+        }
+        // Every write passes through here, so this is where the user's reads get pinned to the primary
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(userId);
+            }
+        });
+        return version;
+    }
+
+    public long getVersion(Long userId) {
+        return versionRepository.findById(userId).map(UserDataVersion::getVersion).orElse(0L);
+    }
+
+    /**
+     * The newest version whose change log entries compaction has purged; 0 if none.
+     */
+    public long getChangeLogFloor(Long userId) {
+        return versionRepository.findById(userId).map(UserDataVersion::getChangeLogFloor).orElse(0L);
+    }
+
+    /**
+     * Strong entity tag for anything derived from the user's data. The user id is part of it
+     * because browsers cache by URL, and two accounts signed in on one browser share URLs.
+     */
+    public String getETag(Long userId) {
+        return "\"" + userId + "-" + getVersion(userId) + "\"";
+    }
+}
@@ -0,0 +1,201 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.model.UserBalance;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import com.yourproject.expensetracker.repository.TransactionRollupRepository;
+import com.yourproject.expensetracker.repository.UserBalanceRepository;
+import com.yourproject.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps a running income/expense total per user so the financial summary is a single-row read.
+ * Totals are adjusted with an atomic {@code UPDATE ... SET total = total + delta} inside the
+ * caller's transaction; the row lock it takes serialises concurrent writers for the same user.
+ */
+@Service
+public class LedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ledger.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public void openAccount(Long userId) {
+        userBalanceRepository.save(new UserBalance(userId, BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+
+    /**
+     * Applies the difference between two versions of a transaction to the user's totals and
+     * monthly rollups, then checks the user's budgets against the new rollups. {@code before} is
+     * null for a create and {@code after} is null for a delete. An update or delete must have read
+     * {@code before} under a row lock, or two concurrent writers would both apply a delta from the
+     * same old version.
+     */
+    public void recordChange(Long userId, Transaction before, Transaction after) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        if (before != null) {
+            if (before.getType() == TransactionType.INCOME) {
+                income = income.subtract(before.getAmount());
+            } else {
+                expense = expense.subtract(before.getAmount());
+            }
+        }
+        if (after != null) {
+            if (after.getType() == TransactionType.INCOME) {
+                income = income.add(after.getAmount());
+            } else {
+                expense = expense.add(after.getAmount());
+            }
+        }
+        // Always issue the update, even for a zero delta: its row lock serialises this user's
+        // writers, which the rollup upsert below relies on
+        if (userBalanceRepository.addToTotals(userId, income, expense) == 0) {
+            // No ledger row yet (account predates the ledger): derive it and the rollups from
+            // the raw rows, which already include the change being recorded
+            rebuild(userId);
+        } else {
+            rollupService.recordChange(userId, before, after);
+        }
+        // A delete only lowers spending, so it can never reach a budget threshold
+        if (after != null) {
+            budgetService.checkThresholds(userId, List.of(after));
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #recordChange} for freshly inserted rows: one balance update and one
+     * upsert per affected rollup bucket, however many rows were inserted.
+     */
+    public void recordCreated(Long userId, List<Transaction> created) {
+        recordChanges(userId, List.of(), created);
+    }
+
+    /**
+     * Bulk variant of {@link #recordChange} for a mixed set of changes. {@code removed} holds
+     * deleted rows and the old versions of updated ones; {@code added} holds created rows and
+     * the new versions.
+     */
+    public void recordChanges(Long userId, List<Transaction> removed, List<Transaction> added) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (Transaction transaction : removed) {
+            if (transaction.getType() == TransactionType.INCOME) {
+                income = income.subtract(transaction.getAmount());
+            } else {
+                expense = expense.subtract(transaction.getAmount());
+            }
+        }
+        for (Transaction transaction : added) {
+            if (transaction.getType() == TransactionType.INCOME) {
+                income = income.add(transaction.getAmount());
+            } else {
+                expense = expense.add(transaction.getAmount());
+            }
+        }
+        if (userBalanceRepository.addToTotals(userId, income, expense) == 0) {
+            rebuild(userId);
+        } else {
+            rollupService.recordChanges(userId, removed, added);
+        }
+        budgetService.checkThresholds(userId, added);
+    }
+
+    public UserBalance getBalance(Long userId) {
+        return userBalanceRepository.findById(userId)
+                .orElseGet(() -> computeFromTransactions(userId));
+    }
+
+    /**
+     * Recomputes the user's totals and monthly rollups from the raw transaction rows.
+     */
+    @Transactional
+    public UserBalance rebuild(Long userId) {
+        rollupService.rebuild(userId);
+        UserBalance computed = computeFromTransactions(userId);
+        UserBalance balance = userBalanceRepository.findById(userId).orElse(computed);
+        if (balance != computed
+                && (balance.getTotalIncome().compareTo(computed.getTotalIncome()) != 0
+                || balance.getTotalExpense().compareTo(computed.getTotalExpense()) != 0)) {
+            log.warn("Ledger drift for user {}: stored income={} expense={}, actual income={} expense={}",
+                    userId, balance.getTotalIncome(), balance.getTotalExpense(),
+                    computed.getTotalIncome(), computed.getTotalExpense());
+        }
+        balance.setTotalIncome(computed.getTotalIncome());
+        balance.setTotalExpense(computed.getTotalExpense());
+        // Rollups are rewritten and drift may have been corrected, so cached summaries are stale
+        dataVersionService.bump(userId);
+        return userBalanceRepository.save(balance);
+    }
+
+    public void rebuildAll() {
+        for (Long userId : userRepository.findAllIds()) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (rebuildOnStartup) {
+            log.info("Rebuilding all ledger balances from transactions");
+            rebuildAll();
+            return;
+        }
+        // Accounts that predate the ledger have no balance row; accounts whose balance row
+        // predates the rollups have one but no rollups, so summaries and budgets would read zero
+        Set<Long> missing = new LinkedHashSet<>(userBalanceRepository.findUserIdsWithoutBalance());
+        missing.addAll(rollupRepository.findUserIdsWithoutRollups());
+        if (!missing.isEmpty()) {
+            log.info("Creating ledger balances and rollups for {} users", missing.size());
+            for (Long userId : missing) {
+                transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+            }
+        }
+    }
+
+    private UserBalance computeFromTransactions(Long userId) {
+        BigDecimal totalIncome = transactionRepository.sumByUserIdAndType(userId, TransactionType.INCOME);
+        BigDecimal totalExpense = transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE);
+        return new UserBalance(userId,
+                totalIncome != null ? totalIncome : BigDecimal.ZERO,
+                totalExpense != null ? totalExpense : BigDecimal.ZERO);
+    }
+}
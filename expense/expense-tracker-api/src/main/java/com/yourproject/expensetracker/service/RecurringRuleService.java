@@ -0,0 +1,117 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.RecurringRuleDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.exception.RecurringRuleNotFoundException;
+import com.yourproject.expensetracker.model.RecurringRule;
+import com.yourproject.expensetracker.repository.RecurringRuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring transaction rules. The scheduler posts their occurrences; a rule that is already
+ * due when it is saved posts straight away, in the same transaction, so a salary rule created on
+ * payday shows up at once rather than on the next scheduler run.
+ */
+@Service
+public class RecurringRuleService {
+
+    @Autowired
+    private RecurringRuleRepository ruleRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private RecurringTransactionScheduler scheduler;
+
+    @Value("${recurring.max-rules-per-user:100}")
+    private int maxRulesPerUser;
+
+    @Transactional(readOnly = true)
+    public List<RecurringRuleDto> getUserRules(Long userId) {
+        List<RecurringRule> rules = ruleRepository.findByUserId(userId);
+        Map<Long, String> names = rules.isEmpty() ? Map.of() : categoryService.resolveCategoryNames(userId,
+                rules.stream().map(RecurringRule::getCategoryId).collect(Collectors.toSet()));
+        return rules.stream()
+                .map(rule -> convertToDto(rule, names.get(rule.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public RecurringRuleDto createRule(Long userId, RecurringRuleDto ruleDto) {
+        if (ruleRepository.countByUserId(userId) >= maxRulesPerUser) {
+            throw new InvalidRequestException("At most " + maxRulesPerUser + " recurring rules are allowed");
+        }
+        RecurringRule rule = new RecurringRule(userId);
+        CategoryDto category = apply(userId, rule, ruleDto);
+        ruleRepository.save(rule);
+        scheduler.post(List.of(rule), LocalDate.now());
+        return convertToDto(rule, category.getName());
+    }
+
+    /**
+     * Changes a rule's schedule or amounts. Occurrences already posted are left alone, and the
+     * next occurrence is recomputed after the last one posted, so an edit never posts a date twice.
+     */
+    @Transactional
+    public RecurringRuleDto updateRule(Long userId, Long ruleId, RecurringRuleDto ruleDto) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(ruleId, userId)
+                .orElseThrow(() -> new RecurringRuleNotFoundException("Recurring rule not found"));
+        CategoryDto category = apply(userId, rule, ruleDto);
+        scheduler.post(List.of(rule), LocalDate.now());
+        return convertToDto(rule, category.getName());
+    }
+
+    /**
+     * Stops the rule. Transactions it already posted are kept.
+     */
+    @Transactional
+    public void deleteRule(Long userId, Long ruleId) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(ruleId, userId)
+                .orElseThrow(() -> new RecurringRuleNotFoundException("Recurring rule not found"));
+        ruleRepository.delete(rule);
+    }
+
+    private CategoryDto apply(Long userId, RecurringRule rule, RecurringRuleDto ruleDto) {
+        if (ruleDto.getEndDate() != null && ruleDto.getEndDate().isBefore(ruleDto.getStartDate())) {
+            throw new InvalidRequestException("End date must not be before the start date");
+        }
+        if (ruleDto.getAmount().scale() > 2) {
+            throw new InvalidRequestException("Amount must have at most 2 decimals");
+        }
+        CategoryDto category = categoryService.getAccessibleCategory(userId, ruleDto.getCategoryId());
+        rule.setCategoryId(ruleDto.getCategoryId());
+        rule.setAmount(ruleDto.getAmount());
+        rule.setDescription(ruleDto.getDescription());
+        rule.setType(ruleDto.getType());
+        rule.setFrequency(ruleDto.getFrequency());
+        rule.setStartDate(ruleDto.getStartDate());
+        rule.setEndDate(ruleDto.getEndDate());
+        rule.reschedule();
+        return category;
+    }
+
+    private RecurringRuleDto convertToDto(RecurringRule rule, String categoryName) {
+        RecurringRuleDto dto = new RecurringRuleDto();
+        dto.setId(rule.getId());
+        dto.setCategoryId(rule.getCategoryId());
+        dto.setAmount(rule.getAmount());
+        dto.setDescription(rule.getDescription());
+        dto.setType(rule.getType());
+        dto.setFrequency(rule.getFrequency());
+        dto.setStartDate(rule.getStartDate());
+        dto.setEndDate(rule.getEndDate());
+        dto.setNextOccurrence(rule.getNextOccurrence());
+        dto.setLastOccurrence(rule.getLastOccurrence());
+        dto.setCategoryName(categoryName);
+        return dto;
+    }
+}
@@ -0,0 +1,232 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.model.RecurringRule;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.repository.RecurringRuleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Posts the transactions that recurring rules have made due. Rules are split into partitions by
+ * user id, and the partitions are worked through in parallel, so one user's rules are only ever
+ * handled by one thread. Each partition is read in keyset-ordered chunks; a chunk is posted in
+ * one DB transaction with JDBC-batched inserts and one ledger, rollup and change-log update per
+ * user in the chunk, which is most of the cost of a run.
+ *
+ * <p>Runs are safe to repeat and to overlap across instances. A rule's next occurrence only moves
+ * in the transaction that posts it, the rule's version column makes a second writer of the same
+ * rule fail, and the unique key on (recurring_rule_id, occurrence_date) rejects any duplicate
+ * that gets past both. A chunk that fails is retried rule by rule, so one bad rule cannot hold
+ * up the others.
+ */
+@Service
+public class RecurringTransactionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
+
+    // Start of the keyset scan; the earliest date MySQL's DATE type stores
+    private static final LocalDate FIRST_DATE = LocalDate.of(1000, 1, 1);
+
+    @Autowired
+    private RecurringRuleRepository ruleRepository;
+
+    @Autowired
+    private TransactionChunkWriter chunkWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${recurring.partitions:16}")
+    private int partitions;
+
+    @Value("${recurring.threads:4}")
+    private int threads;
+
+    @Value("${recurring.chunk-size:500}")
+    private int chunkSize;
+
+    // A rule that has fallen far behind catches up over several runs rather than in one huge chunk
+    @Value("${recurring.max-occurrences-per-run:31}")
+    private int maxOccurrencesPerRun;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    private ExecutorService executor;
+
+    private final LongAdder posted = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "recurring-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${recurring.interval-ms:300000}",
+            initialDelayString = "${recurring.initial-delay-ms:60000}")
+    public void run() {
+        runUntil(LocalDate.now());
+    }
+
+    /**
+     * Posts every occurrence due on or before {@code today} and returns how many were posted.
+     */
+    public long runUntil(LocalDate today) {
+        long started = System.currentTimeMillis();
+        // Instances start on different partitions, so concurrent runs mostly work on disjoint rules
+        List<Integer> order = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            order.add(partition);
+        }
+        Collections.shuffle(order);
+
+        List<Future<Long>> results = new ArrayList<>();
+        for (int partition : order) {
+            results.add(executor.submit(() -> runPartition(today, partition)));
+        }
+        long total = 0;
+        for (Future<Long> result : results) {
+            try {
+                total += result.get();
+            } catch (ExecutionException e) {
+                log.error("Recurring partition failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+        if (total > 0) {
+            log.info("Posted {} recurring transactions in {} ms", total, System.currentTimeMillis() - started);
+        }
+        return total;
+    }
+
+    private long runPartition(LocalDate today, int partition) {
+        LocalDate afterDate = FIRST_DATE;
+        long afterUserId = 0;
+        long afterId = 0;
+        long total = 0;
+        while (true) {
+            List<RecurringRule> page = ruleRepository.findDuePage(today, partitions, partition, afterDate, afterUserId,
+                    afterId, PageRequest.of(0, chunkSize));
+            if (page.isEmpty()) {
+                return total;
+            }
+            RecurringRule last = page.get(page.size() - 1);
+            afterDate = last.getNextOccurrence();
+            afterUserId = last.getUserId();
+            afterId = last.getId();
+            total += postChunk(page.stream().map(RecurringRule::getId).toList(), today);
+            if (page.size() < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    private long postChunk(List<Long> ruleIds, LocalDate today) {
+        try {
+            Long count = transactionTemplate.execute(status -> post(ruleRepository.findByIdIn(ruleIds), today));
+            posted.add(count);
+            return count;
+        } catch (RuntimeException e) {
+            log.debug("Recurring chunk of {} rules failed, retrying one by one", ruleIds.size(), e);
+        }
+        long total = 0;
+        for (Long ruleId : ruleIds) {
+            try {
+                Long count = transactionTemplate.execute(status -> post(ruleRepository.findByIdIn(List.of(ruleId)), today));
+                posted.add(count);
+                total += count;
+            } catch (RuntimeException e) {
+                // Left due; the next run tries again
+                failures.increment();
+                log.warn("Recurring rule {} could not be posted", ruleId, e);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Posts every occurrence of the given rules due on or before {@code today} and advances the
+     * rules past them. The rules must be managed by the caller's transaction, which this joins.
+     */
+    long post(List<RecurringRule> rules, LocalDate today) {
+        Map<Long, List<Transaction>> createdByUser = new LinkedHashMap<>();
+        long count = 0;
+        for (RecurringRule rule : rules) {
+            for (int i = 0; i < maxOccurrencesPerRun && isDue(rule, today); i++) {
+                Transaction transaction = new Transaction(rule.getUserId(), rule.getCategoryId(), rule.getAmount(),
+                        rule.getDescription(), rule.getNextOccurrence(), rule.getType());
+                transaction.setRecurringRuleId(rule.getId());
+                transaction.setOccurrenceDate(rule.getNextOccurrence());
+                entityManager.persist(transaction);
+                createdByUser.computeIfAbsent(rule.getUserId(), userId -> new ArrayList<>()).add(transaction);
+                rule.advance();
+                // Flushed but not cleared: the rules must stay managed so their new state is written
+                if (++count % batchSize == 0) {
+                    entityManager.flush();
+                }
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        // The persistence context is flushed and cleared after each step; otherwise every query
+        // the per-user updates run would auto-flush and dirty-check everything the chunk has loaded
+        entityManager.flush();
+        entityManager.clear();
+        createdByUser.forEach((userId, created) -> {
+            chunkWriter.recordInserted(userId, created);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return count;
+    }
+
+    private static boolean isDue(RecurringRule rule, LocalDate today) {
+        return rule.getNextOccurrence() != null && !rule.getNextOccurrence().isAfter(today);
+    }
+
+    public long getPostedCount() {
+        return posted.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+}
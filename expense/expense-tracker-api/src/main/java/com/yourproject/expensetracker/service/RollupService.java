@@ -0,0 +1,297 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.SummaryBucketDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionRollup;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import com.yourproject.expensetracker.repository.TransactionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains (user, month, category, type) totals alongside every transaction write and answers
+ * ranged, grouped summaries from them. Whole months inside a range are read from the rollups;
+ * only the partial months at either edge touch the transactions table.
+ */
+@Service
+public class RollupService {
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    /**
+     * Called from {@link LedgerService#recordChange} once it holds the row lock on the user's
+     * balance, which keeps two writers from inserting the same rollup row concurrently.
+     */
+    public void recordChange(Long userId, Transaction before, Transaction after) {
+        if (before != null && after != null && sameBucket(before, after)) {
+            BigDecimal delta = after.getAmount().subtract(before.getAmount());
+            if (delta.signum() != 0) {
+                add(userId, after, delta, 0);
+            }
+            return;
+        }
+        if (before != null) {
+            add(userId, before, before.getAmount().negate(), -1);
+        }
+        if (after != null) {
+            add(userId, after, after.getAmount(), 1);
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #recordChange} for freshly inserted rows.
+     */
+    public void recordCreated(Long userId, List<Transaction> created) {
+        recordChanges(userId, List.of(), created);
+    }
+
+    /**
+     * Bulk variant of {@link #recordChange}: {@code removed} holds deleted rows and the old
+     * versions of updated ones, {@code added} holds created rows and the new versions. Existing
+     * buckets in the affected month range are read with one query and updated in memory, so the
+     * whole set costs one select plus batched updates and inserts.
+     */
+    public void recordChanges(Long userId, List<Transaction> removed, List<Transaction> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        Map<String, TransactionRollup> deltas = new HashMap<>();
+        LocalDate minMonth = null;
+        LocalDate maxMonth = null;
+        for (Transaction transaction : removed) {
+            addDelta(deltas, userId, transaction, transaction.getAmount().negate(), -1);
+        }
+        for (Transaction transaction : added) {
+            addDelta(deltas, userId, transaction, transaction.getAmount(), 1);
+        }
+        for (TransactionRollup delta : deltas.values()) {
+            LocalDate monthStart = delta.getMonthStart();
+            minMonth = minMonth == null || monthStart.isBefore(minMonth) ? monthStart : minMonth;
+            maxMonth = maxMonth == null || monthStart.isAfter(maxMonth) ? monthStart : maxMonth;
+        }
+
+        for (TransactionRollup existing : rollupRepository.findByUserIdAndMonthStartBetween(userId, minMonth, maxMonth)) {
+            TransactionRollup delta = deltas.remove(key(existing.getMonthStart(), existing.getCategoryId(), existing.getType()));
+            if (delta != null) {
+                existing.setTotal(existing.getTotal().add(delta.getTotal()));
+                existing.setTransactionCount(existing.getTransactionCount() + delta.getTransactionCount());
+            }
+        }
+        rollupRepository.saveAll(deltas.values());
+    }
+
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        List<TransactionRollup> rollups = new ArrayList<>();
+        for (Object[] row : transactionRepository.sumByCategoryTypeAndMonth(userId)) {
+            LocalDate monthStart = LocalDate.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 1);
+            rollups.add(new TransactionRollup(userId, monthStart, (Long) row[0], (TransactionType) row[1],
+                    (BigDecimal) row[4], ((Number) row[5]).longValue()));
+        }
+        rollupRepository.saveAll(rollups);
+    }
+
+    public Map<String, Object> summarize(Long userId, LocalDate from, LocalDate to, String groupBy) {
+        LocalDate start = from != null ? from : EARLIEST;
+        LocalDate end = to != null ? to : LATEST;
+        if (start.isAfter(end)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+
+        Map<String, SummaryBucketDto> buckets;
+        switch (groupBy) {
+            case "day" -> buckets = summarizeByDay(userId, start, end);
+            case "month" -> buckets = summarizeByMonth(userId, start, end);
+            case "category" -> buckets = summarizeByCategory(userId, start, end);
+            default -> throw new InvalidRequestException("groupBy must be one of day, month, category");
+        }
+
+        List<SummaryBucketDto> results = new ArrayList<>(buckets.values());
+        if ("category".equals(groupBy)) {
+            results.sort(Comparator.comparing(SummaryBucketDto::getExpense)
+                    .thenComparing(SummaryBucketDto::getIncome).reversed());
+        }
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        for (SummaryBucketDto bucket : results) {
+            totalIncome = totalIncome.add(bucket.getIncome());
+            totalExpense = totalExpense.add(bucket.getExpense());
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("from", from);
+        summary.put("to", to);
+        summary.put("groupBy", groupBy);
+        summary.put("totalIncome", totalIncome);
+        summary.put("totalExpense", totalExpense);
+        summary.put("balance", totalIncome.subtract(totalExpense));
+        summary.put("buckets", results);
+        return summary;
+    }
+
+    private Map<String, SummaryBucketDto> summarizeByDay(Long userId, LocalDate start, LocalDate end) {
+        Map<String, SummaryBucketDto> buckets = new TreeMap<>();
+        for (Object[] row : transactionRepository.sumByDateAndTypeBetween(userId, start, end)) {
+            accumulate(buckets, row[0].toString(), (TransactionType) row[1], (BigDecimal) row[2], (Long) row[3]);
+        }
+        return buckets;
+    }
+
+    private Map<String, SummaryBucketDto> summarizeByMonth(Long userId, LocalDate start, LocalDate end) {
+        Map<String, SummaryBucketDto> buckets = new TreeMap<>();
+        forEachRange(start, end, new RangeVisitor() {
+            @Override
+            public void fullMonths(LocalDate firstMonth, LocalDate lastMonth) {
+                for (Object[] row : rollupRepository.sumByMonth(userId, firstMonth, lastMonth)) {
+                    accumulate(buckets, YearMonth.from((LocalDate) row[0]).toString(), (TransactionType) row[1],
+                            (BigDecimal) row[2], ((Number) row[3]).longValue());
+                }
+            }
+
+            @Override
+            public void partialMonth(LocalDate rangeStart, LocalDate rangeEnd) {
+                String key = YearMonth.from(rangeStart).toString();
+                for (Object[] row : transactionRepository.sumByCategoryAndTypeBetween(userId, rangeStart, rangeEnd)) {
+                    accumulate(buckets, key, (TransactionType) row[1], (BigDecimal) row[2], (Long) row[3]);
+                }
+            }
+        });
+        return buckets;
+    }
+
+    private Map<String, SummaryBucketDto> summarizeByCategory(Long userId, LocalDate start, LocalDate end) {
+        Map<String, SummaryBucketDto> buckets = new HashMap<>();
+        Map<Long, SummaryBucketDto> byCategory = new HashMap<>();
+        forEachRange(start, end, new RangeVisitor() {
+            @Override
+            public void fullMonths(LocalDate firstMonth, LocalDate lastMonth) {
+                for (Object[] row : rollupRepository.sumByCategory(userId, firstMonth, lastMonth)) {
+                    accumulateCategory(row);
+                }
+            }
+
+            @Override
+            public void partialMonth(LocalDate rangeStart, LocalDate rangeEnd) {
+                for (Object[] row : transactionRepository.sumByCategoryAndTypeBetween(userId, rangeStart, rangeEnd)) {
+                    accumulateCategory(row);
+                }
+            }
+
+            private void accumulateCategory(Object[] row) {
+                Long categoryId = (Long) row[0];
+                SummaryBucketDto bucket = accumulate(buckets, categoryId.toString(), (TransactionType) row[1],
+                        (BigDecimal) row[2], ((Number) row[3]).longValue());
+                bucket.setCategoryId(categoryId);
+                byCategory.put(categoryId, bucket);
+            }
+        });
+        if (!byCategory.isEmpty()) {
+            categoryService.resolveCategoryNames(userId, byCategory.keySet())
+                    .forEach((categoryId, name) -> byCategory.get(categoryId).setCategoryName(name));
+        }
+        return buckets;
+    }
+
+    private void add(Long userId, Transaction transaction, BigDecimal amount, long count) {
+        add(userId, transaction.getDate().withDayOfMonth(1), transaction.getCategoryId(), transaction.getType(),
+                amount, count);
+    }
+
+    private void add(Long userId, LocalDate monthStart, Long categoryId, TransactionType type,
+                     BigDecimal amount, long count) {
+        if (rollupRepository.addToRollup(userId, monthStart, categoryId, type, amount, count) == 0) {
+            rollupRepository.save(new TransactionRollup(userId, monthStart, categoryId, type, amount, count));
+        }
+    }
+
+    private static void addDelta(Map<String, TransactionRollup> deltas, Long userId, Transaction transaction,
+                                 BigDecimal amount, long count) {
+        LocalDate monthStart = transaction.getDate().withDayOfMonth(1);
+        TransactionRollup delta = deltas.computeIfAbsent(
+                key(monthStart, transaction.getCategoryId(), transaction.getType()),
+                k -> new TransactionRollup(userId, monthStart, transaction.getCategoryId(), transaction.getType(),
+                        BigDecimal.ZERO, 0));
+        delta.setTotal(delta.getTotal().add(amount));
+        delta.setTransactionCount(delta.getTransactionCount() + count);
+    }
+
+    private static String key(LocalDate monthStart, Long categoryId, TransactionType type) {
+        return monthStart + "|" + categoryId + "|" + type;
+    }
+
+    private boolean sameBucket(Transaction a, Transaction b) {
+        return a.getCategoryId().equals(b.getCategoryId())
+                && a.getType() == b.getType()
+                && YearMonth.from(a.getDate()).equals(YearMonth.from(b.getDate()));
+    }
+
+    private static SummaryBucketDto accumulate(Map<String, SummaryBucketDto> buckets, String key,
+                                               TransactionType type, BigDecimal amount, long count) {
+        SummaryBucketDto bucket = buckets.computeIfAbsent(key, SummaryBucketDto::new);
+        if (type == TransactionType.INCOME) {
+            bucket.setIncome(bucket.getIncome().add(amount));
+        } else {
+            bucket.setExpense(bucket.getExpense().add(amount));
+        }
+        bucket.setTransactionCount(bucket.getTransactionCount() + count);
+        return bucket;
+    }
+
+    /**
+     * Splits [start, end] into the partial months at each edge and the run of whole months between.
+     */
+    private static void forEachRange(LocalDate start, LocalDate end, RangeVisitor visitor) {
+        YearMonth startMonth = YearMonth.from(start);
+        YearMonth endMonth = YearMonth.from(end);
+        if (startMonth.equals(endMonth)) {
+            if (start.getDayOfMonth() == 1 && end.equals(endMonth.atEndOfMonth())) {
+                visitor.fullMonths(start, start);
+            } else {
+                visitor.partialMonth(start, end);
+            }
+            return;
+        }
+
+        YearMonth firstFull = startMonth;
+        if (start.getDayOfMonth() != 1) {
+            visitor.partialMonth(start, startMonth.atEndOfMonth());
+            firstFull = startMonth.plusMonths(1);
+        }
+        YearMonth lastFull = endMonth;
+        if (!end.equals(endMonth.atEndOfMonth())) {
+            visitor.partialMonth(endMonth.atDay(1), end);
+            lastFull = endMonth.minusMonths(1);
+        }
+        if (!firstFull.isAfter(lastFull)) {
+            visitor.fullMonths(firstFull.atDay(1), lastFull.atDay(1));
+        }
+    }
+
+    private interface RangeVisitor {
+        void fullMonths(LocalDate firstMonth, LocalDate lastMonth);
+
+        void partialMonth(LocalDate rangeStart, LocalDate rangeEnd);
+    }
+}
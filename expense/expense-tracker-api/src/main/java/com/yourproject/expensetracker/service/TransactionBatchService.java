@@ -0,0 +1,195 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.BatchOperationDto;
+import com.yourproject.expensetracker.dto.BatchOperationResultDto;
+import com.yourproject.expensetracker.dto.BatchResultDto;
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.exception.CategoryNotFoundException;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a list of create/update/delete operations all-or-nothing. Every operation is checked
+ * before anything is written: the targeted rows are loaded and locked with one {@code IN} query
+ * and the categories come from the user's cached category snapshot. If any operation is invalid,
+ * nothing is applied and each failing operation reports why. Otherwise all writes share one
+ * transaction, go out as JDBC batches, and the ledger, rollups and data version are adjusted once.
+ */
+@Service
+public class TransactionBatchService {
+
+    private static final String CREATE = "create";
+    private static final String UPDATE = "update";
+    private static final String DELETE = "delete";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${transactions.batch.max-operations:1000}")
+    private int maxOperations;
+
+    @Transactional
+    public BatchResultDto apply(Long userId, List<BatchOperationDto> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > maxOperations) {
+            throw new InvalidRequestException("A batch must contain between 1 and " + maxOperations + " operations");
+        }
+
+        Set<Long> targetIds = new HashSet<>();
+        for (BatchOperationDto operation : operations) {
+            if (operation.getId() != null) {
+                targetIds.add(operation.getId());
+            }
+        }
+        Map<Long, Transaction> targets = new HashMap<>();
+        if (!targetIds.isEmpty()) {
+            transactionRepository.findLockedByUserIdAndIdInOrderById(userId, targetIds)
+                    .forEach(t -> targets.put(t.getId(), t));
+        }
+
+        BatchResultDto result = new BatchResultDto();
+        Map<Integer, CategoryDto> categories = new HashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+        boolean valid = true;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDto operation = operations.get(i);
+            BatchOperationResultDto outcome = new BatchOperationResultDto(i, operation.getOp());
+            String error = validate(userId, operation, targets, seenIds, categories, i);
+            if (error != null) {
+                outcome.setStatus("invalid");
+                outcome.setError(error);
+                valid = false;
+            }
+            result.getResults().add(outcome);
+        }
+        if (!valid) {
+            result.getResults().stream()
+                    .filter(outcome -> outcome.getStatus() == null)
+                    .forEach(outcome -> outcome.setStatus("skipped"));
+            return result;
+        }
+
+        List<Transaction> removed = new ArrayList<>();
+        List<Transaction> added = new ArrayList<>();
+        List<Transaction> deleted = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDto operation = operations.get(i);
+            BatchOperationResultDto outcome = result.getResults().get(i);
+            TransactionDto values = operation.getTransaction();
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    Transaction transaction = transactionRepository.save(new Transaction(userId, values.getCategoryId(),
+                            values.getAmount(), values.getDescription(), values.getDate(), values.getType()));
+                    added.add(transaction);
+                    outcome.setStatus("created");
+                    outcome.setId(transaction.getId());
+                    outcome.setTransaction(transactionService.convertToDto(transaction, categories.get(i).getName()));
+                }
+                case UPDATE -> {
+                    Transaction transaction = targets.get(operation.getId());
+                    removed.add(transactionService.snapshot(transaction));
+                    transaction.setCategoryId(values.getCategoryId());
+                    transaction.setAmount(values.getAmount());
+                    transaction.setDescription(values.getDescription());
+                    transaction.setDate(values.getDate());
+                    transaction.setType(values.getType());
+                    added.add(transaction);
+                    outcome.setStatus("updated");
+                    outcome.setId(transaction.getId());
+                    outcome.setTransaction(transactionService.convertToDto(transaction, categories.get(i).getName()));
+                }
+                default -> {
+                    Transaction transaction = targets.get(operation.getId());
+                    deleted.add(transaction);
+                    removed.add(transaction);
+                    outcome.setStatus("deleted");
+                    outcome.setId(transaction.getId());
+                }
+            }
+        }
+        transactionRepository.deleteAll(deleted);
+        ledgerService.recordChanges(userId, removed, added);
+        changeLogService.recordTransactions(userId, dataVersionService.bump(userId),
+                added.stream().map(Transaction::getId).toList(), deleted.stream().map(Transaction::getId).toList());
+        transactionService.publishBulkChange(userId);
+        result.setApplied(true);
+        return result;
+    }
+
+    private String validate(Long userId, BatchOperationDto operation, Map<Long, Transaction> targets,
+                            Set<Long> seenIds, Map<Integer, CategoryDto> categories, int index) {
+        String op = operation.getOp();
+        if (!CREATE.equals(op) && !UPDATE.equals(op) && !DELETE.equals(op)) {
+            return "op must be create, update or delete";
+        }
+        if (CREATE.equals(op)) {
+            if (operation.getId() != null) {
+                return "create must not name an id";
+            }
+        } else {
+            if (operation.getId() == null) {
+                return op + " requires an id";
+            }
+            if (!targets.containsKey(operation.getId())) {
+                return "Transaction not found";
+            }
+            // Each row changes at most once, so the ledger sees one before/after pair per row
+            if (!seenIds.add(operation.getId())) {
+                return "Transaction " + operation.getId() + " appears in more than one operation";
+            }
+        }
+        if (DELETE.equals(op)) {
+            return null;
+        }
+
+        TransactionDto values = operation.getTransaction();
+        if (values == null) {
+            return op + " requires a transaction";
+        }
+        Set<ConstraintViolation<TransactionDto>> violations = validator.validate(values);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            categories.put(index, categoryService.getAccessibleCategory(userId, values.getCategoryId()));
+        } catch (CategoryNotFoundException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.List;
+
+/**
+ * Inserts a chunk of new transactions for one user: imports, the seed data loader and the
+ * recurring scheduler all write through here. Rows go out as JDBC batches, then the ledger,
+ * rollups, budgets, change log and data version are updated once for the whole chunk and open
+ * change streams are told. Joins the caller's transaction, which must be open.
+ */
+@Service
+public class TransactionChunkWriter {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    public void write(Long userId, List<Transaction> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            entityManager.persist(rows.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        recordInserted(userId, rows);
+    }
+
+    /**
+     * Everything that follows the inserts, for callers that persisted the rows themselves. The
+     * rows must already be flushed, so they have their ids.
+     */
+    public void recordInserted(Long userId, List<Transaction> rows) {
+        ledgerService.recordCreated(userId, rows);
+        changeLogService.recordTransactions(userId, dataVersionService.bump(userId),
+                rows.stream().map(Transaction::getId).toList(), List.of());
+        transactionService.publishBulkChange(userId);
+    }
+}
@@ -0,0 +1,119 @@
+package com.yourproject.expensetracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's full history straight from a forward-only result set to the response, so
+ * memory stays flat regardless of history size. Each row is detached once written so the
+ * persistence context never accumulates the export.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 5000;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public enum Format { CSV, NDJSON }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        Map<Long, String> categoryNames = categoryService.getAllCategoryNames(userId);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write("id,date,type,categoryId,category,amount,description\n");
+        }
+        // Get the first bytes to the client before the query starts producing rows
+        writer.flush();
+
+        try (Stream<Transaction> rows = transactionRepository.streamByUserId(userId)) {
+            Iterator<Transaction> iterator = rows.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                String categoryName = categoryNames.get(transaction.getCategoryId());
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, transaction, categoryName);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(toDto(transaction, categoryName)));
+                    writer.write('\n');
+                }
+                entityManager.detach(transaction);
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Transaction transaction, String categoryName) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(transaction.getDate().toString());
+        writer.write(',');
+        writer.write(transaction.getType().name());
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getCategoryId()));
+        writer.write(',');
+        writer.write(csvField(categoryName));
+        writer.write(',');
+        writer.write(transaction.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(transaction.getDescription()));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private TransactionDto toDto(Transaction transaction, String categoryName) {
+        TransactionDto dto = new TransactionDto();
+        dto.setId(transaction.getId());
+        dto.setCategoryId(transaction.getCategoryId());
+        dto.setAmount(transaction.getAmount());
+        dto.setDescription(transaction.getDescription());
+        dto.setDate(transaction.getDate());
+        dto.setType(transaction.getType());
+        dto.setCategoryName(categoryName);
+        return dto;
+    }
+}
@@ -0,0 +1,52 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Optional criteria for a transaction search. Null fields do not filter; bounds are inclusive.
+ */
+public class TransactionFilter {
+    private LocalDate from;
+    private LocalDate to;
+    private TransactionType type;
+    private Set<Long> categoryIds;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private TransactionSort sort = TransactionSort.DATE_DESC;
+
+    public TransactionFilter() {}
+
+    public void validate() {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new InvalidRequestException("'minAmount' must not be greater than 'maxAmount'");
+        }
+    }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public Set<Long> getCategoryIds() { return categoryIds; }
+    public void setCategoryIds(Set<Long> categoryIds) { this.categoryIds = categoryIds; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public TransactionSort getSort() { return sort; }
+    public void setSort(TransactionSort sort) { this.sort = sort; }
+}
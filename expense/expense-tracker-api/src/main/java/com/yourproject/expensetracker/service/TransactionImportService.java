@@ -0,0 +1,281 @@
+package com.yourproject.expensetracker.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.ImportErrorDto;
+import com.yourproject.expensetracker.dto.ImportResultDto;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams CSV or NDJSON rows into the transactions table. Rows are validated one by one against
+ * the user's categories (loaded once) and written in chunks, each chunk in its own DB transaction
+ * with JDBC-batched inserts, so a bad row or a failed chunk never aborts the rest of the load. A
+ * chunk that fails to store is retried row by row, and only the rows that still fail are reported.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionChunkWriter chunkWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${transactions.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${transactions.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public enum Format { CSV, NDJSON }
+
+    public ImportResultDto importTransactions(Long userId, BufferedReader reader, Format format) throws IOException {
+        Map<Long, CategoryDto> categoriesById = new HashMap<>();
+        Map<String, CategoryDto> categoriesByName = new HashMap<>();
+        for (CategoryDto category : categoryService.getUserCategories(userId)) {
+            categoriesById.put(category.getId(), category);
+            categoriesByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        ImportResultDto result = new ImportResultDto();
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        String[] header = null;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Map<String, String> fields;
+                if (format == Format.CSV) {
+                    if (header == null) {
+                        header = parseHeader(line);
+                        continue;
+                    }
+                    fields = toFields(header, parseCsvLine(line));
+                } else {
+                    fields = parseJsonLine(line);
+                }
+                chunk.add(toTransaction(userId, fields, categoriesById, categoriesByName));
+                chunkLines.add(lineNumber);
+            } catch (InvalidRequestException e) {
+                reportError(result, lineNumber, e.getMessage());
+            }
+
+            if (chunk.size() >= chunkSize) {
+                writeChunk(userId, chunk, chunkLines, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(userId, chunk, chunkLines, result);
+        }
+        return result;
+    }
+
+    private void writeChunk(Long userId, List<Transaction> chunk, List<Long> chunkLines, ImportResultDto result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> chunkWriter.write(userId, chunk));
+            result.setImported(result.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            // Retried row by row, so only the rows that cannot be stored are reported
+            log.debug("Import chunk of {} rows for user {} failed, retrying one by one", chunk.size(), userId, e);
+            for (int i = 0; i < chunk.size(); i++) {
+                Transaction row = chunk.get(i);
+                // The failed attempt assigned an id; the retry is a fresh insert
+                row.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> chunkWriter.write(userId, List.of(row)));
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException rowFailure) {
+                    log.warn("Import row on line {} for user {} could not be stored", chunkLines.get(i), userId,
+                            rowFailure);
+                    reportError(result, chunkLines.get(i), "Row could not be stored");
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void reportError(ImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportErrorDto(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Transaction toTransaction(Long userId, Map<String, String> fields,
+                                      Map<Long, CategoryDto> categoriesById, Map<String, CategoryDto> categoriesByName) {
+        CategoryDto category;
+        String categoryId = fields.get("categoryid");
+        String categoryName = fields.get("category");
+        if (categoryId != null && !categoryId.isEmpty()) {
+            try {
+                category = categoriesById.get(Long.valueOf(categoryId));
+            } catch (NumberFormatException e) {
+                throw new InvalidRequestException("Invalid categoryId: " + categoryId);
+            }
+        } else if (categoryName != null && !categoryName.isEmpty()) {
+            category = categoriesByName.get(categoryName.toLowerCase(Locale.ROOT));
+        } else {
+            throw new InvalidRequestException("categoryId or category is required");
+        }
+        if (category == null) {
+            throw new InvalidRequestException("Category not found");
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(required(fields, "amount"));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid amount");
+        }
+        if (amount.compareTo(new BigDecimal("0.01")) < 0 || amount.compareTo(MAX_AMOUNT) > 0 || amount.scale() > 2) {
+            throw new InvalidRequestException("Amount must be between 0.01 and " + MAX_AMOUNT + " with at most 2 decimals");
+        }
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(required(fields, "date"));
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid date, expected yyyy-MM-dd");
+        }
+
+        TransactionType type;
+        String typeValue = fields.get("type");
+        if (typeValue == null || typeValue.isEmpty()) {
+            type = category.getType();
+        } else {
+            try {
+                type = TransactionType.valueOf(typeValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Type must be INCOME or EXPENSE");
+            }
+        }
+
+        String description = fields.get("description");
+        if (description != null && description.length() > 255) {
+            throw new InvalidRequestException("Description must be at most 255 characters");
+        }
+
+        return new Transaction(userId, category.getId(), amount, description, date, type);
+    }
+
+    private String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new InvalidRequestException(name + " is required");
+        }
+        return value;
+    }
+
+    private String[] parseHeader(String line) {
+        List<String> columns = parseCsvLine(line);
+        String[] header = new String[columns.size()];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = columns.get(i).trim().toLowerCase(Locale.ROOT);
+        }
+        return header;
+    }
+
+    private Map<String, String> toFields(String[] header, List<String> values) {
+        if (values.size() > header.length) {
+            throw new InvalidRequestException("Expected " + header.length + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header[i], values.get(i).trim());
+        }
+        return fields;
+    }
+
+    private Map<String, String> parseJsonLine(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Malformed JSON");
+        }
+        if (!node.isObject()) {
+            throw new InvalidRequestException("Each line must be a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                fields.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().asText());
+            }
+        });
+        return fields;
+    }
+
+    /**
+     * RFC 4180 field splitting for a single line: quoted fields may contain commas and doubled quotes.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidRequestException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import com.yourproject.expensetracker.model.Transaction;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a search result: the sort it belongs to, the last row's sort value and its
+ * id. A cursor is only accepted back with the same sort it was issued for.
+ */
+public final class TransactionSearchCursor {
+
+    private final TransactionSort sort;
+    private final String value;
+    private final Long id;
+
+    private TransactionSearchCursor(TransactionSort sort, String value, Long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static TransactionSearchCursor after(TransactionSort sort, Transaction transaction) {
+        String value = sort.getProperty().equals("amount")
+                ? transaction.getAmount().toPlainString() : transaction.getDate().toString();
+        return new TransactionSearchCursor(sort, value, transaction.getId());
+    }
+
+    public static TransactionSearchCursor decode(String encoded, TransactionSort expectedSort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !parts[0].equals(expectedSort.name())) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            TransactionSearchCursor cursor = new TransactionSearchCursor(expectedSort, parts[1], Long.valueOf(parts[2]));
+            // Parse once here so a tampered value is a 400, not a failure inside the query
+            if (cursor.isAmount()) {
+                cursor.getAmount();
+            } else {
+                cursor.getDate();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + ":" + value + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isAmount() { return sort.getProperty().equals("amount"); }
+
+    public BigDecimal getAmount() { return new BigDecimal(value); }
+
+    public LocalDate getDate() { return LocalDate.parse(value); }
+
+    public TransactionSort getSort() { return sort; }
+
+    public Long getId() { return id; }
+}
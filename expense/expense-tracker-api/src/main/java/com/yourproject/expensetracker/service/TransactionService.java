@@ -1,22 +1,29 @@
 package com.yourproject.expensetracker.service;
 
+import com.yourproject.expensetracker.dto.CategoryDto;
 import com.yourproject.expensetracker.dto.TransactionDto;
-import com.yourproject.expensetracker.exception.CategoryNotFoundException;
+import com.yourproject.expensetracker.dto.TransactionPageDto;
+import com.yourproject.expensetracker.events.ChangeEvent;
+import com.yourproject.expensetracker.events.ChangeStreamHub;
+import com.yourproject.expensetracker.exception.InvalidRequestException;
 import com.yourproject.expensetracker.exception.TransactionNotFoundException;
-import com.yourproject.expensetracker.exception.UnauthorizedAccessException;
-import com.yourproject.expensetracker.model.Category;
 import com.yourproject.expensetracker.model.Transaction;
-import com.yourproject.expensetracker.model.TransactionType;
-import com.yourproject.expensetracker.repository.CategoryRepository;
+import com.yourproject.expensetracker.model.UserBalance;
 import com.yourproject.expensetracker.repository.TransactionRepository;
-import com.yourproject.expensetracker.repository.UserRepository;
+import com.yourproject.expensetracker.repository.TransactionSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,23 +33,105 @@ public class TransactionService {
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryService categoryService;
 
     @Autowired
-    private UserRepository userRepository;
+    private LedgerService ledgerService;
 
-    public List<TransactionDto> getUserTransactions(String username) {
-        Long userId = getUserIdByUsername(username);
-        return transactionRepository.findByUserIdOrderByDateDesc(userId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChangeStreamHub changeStreamHub;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${transactions.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${transactions.page.max-size:500}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public List<TransactionDto> getUserTransactions(Long userId) {
+        return convertToDtos(userId, transactionRepository.findByUserIdOrderByDateDesc(userId));
     }
 
-    public TransactionDto createTransaction(String username, TransactionDto transactionDto) {
-        Long userId = getUserIdByUsername(username);
-        
-        Category category = categoryRepository.findByIdAndUserId(transactionDto.getCategoryId(), userId)
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found"));
+    @Transactional(readOnly = true)
+    public TransactionPageDto getUserTransactionPage(Long userId, Integer limit, String cursor) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new InvalidRequestException("Limit must be between 1 and " + maxPageSize);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<Transaction> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, window);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfter(userId, position.getDate(), position.getId(), window);
+        }
+
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            next = TransactionCursor.after(rows.get(pageSize - 1)).encode();
+        }
+
+        return new TransactionPageDto(convertToDtos(userId, rows), next);
+    }
+
+    /**
+     * One keyset-paged query for any combination of the filter's criteria, ordered by the
+     * filter's sort. The cursor is only valid for the sort it was issued under.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDto searchTransactions(Long userId, TransactionFilter filter, Integer limit, String cursor) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new InvalidRequestException("Limit must be between 1 and " + maxPageSize);
+        }
+        filter.validate();
+
+        TransactionSort sort = filter.getSort();
+        Specification<Transaction> spec = Specification.where(TransactionSpecifications.ownedBy(userId))
+                .and(TransactionSpecifications.dateFrom(filter.getFrom()))
+                .and(TransactionSpecifications.dateTo(filter.getTo()))
+                .and(TransactionSpecifications.ofType(filter.getType()))
+                .and(TransactionSpecifications.inCategories(filter.getCategoryIds()))
+                .and(TransactionSpecifications.amountAtLeast(filter.getMinAmount()))
+                .and(TransactionSpecifications.amountAtMost(filter.getMaxAmount()));
+        if (cursor != null && !cursor.isEmpty()) {
+            TransactionSearchCursor position = TransactionSearchCursor.decode(cursor, sort);
+            spec = spec.and(position.isAmount()
+                    ? TransactionSpecifications.after("amount", position.getAmount(), position.getId(), sort.isDescending())
+                    : TransactionSpecifications.after("date", position.getDate(), position.getId(), sort.isDescending()));
+        }
+
+        List<Transaction> rows = transactionRepository.findBy(spec,
+                query -> query.sortBy(sort.toSort()).limit(pageSize + 1).all());
+
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            next = TransactionSearchCursor.after(sort, rows.get(pageSize - 1)).encode();
+        }
+
+        return new TransactionPageDto(convertToDtos(userId, rows), next);
+    }
+
+    @Transactional
+    public TransactionDto createTransaction(Long userId, TransactionDto transactionDto) {
+        CategoryDto category = categoryService.getAccessibleCategory(userId, transactionDto.getCategoryId());
 
         Transaction transaction = new Transaction(
                 userId,
@@ -54,18 +143,21 @@ public class TransactionService {
         );
 
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return convertToDto(savedTransaction);
+        ledgerService.recordChange(userId, null, savedTransaction);
+        changeLogService.recordTransaction(userId, dataVersionService.bump(userId), savedTransaction.getId(), false);
+        TransactionDto created = convertToDto(savedTransaction, category.getName());
+        publishChange(userId, ChangeEvent.TRANSACTION_CREATED, created, savedTransaction.getId());
+        return created;
     }
 
-    public TransactionDto updateTransaction(String username, Long transactionId, TransactionDto transactionDto) {
-        Long userId = getUserIdByUsername(username);
-        
-        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
+    @Transactional
+    public TransactionDto updateTransaction(Long userId, Long transactionId, TransactionDto transactionDto) {
+        Transaction transaction = transactionRepository.findLockedByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found"));
 
-        Category category = categoryRepository.findByIdAndUserId(transactionDto.getCategoryId(), userId)
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found"));
+        CategoryDto category = categoryService.getAccessibleCategory(userId, transactionDto.getCategoryId());
 
+        Transaction previous = snapshot(transaction);
         transaction.setCategoryId(transactionDto.getCategoryId());
         transaction.setAmount(transactionDto.getAmount());
         transaction.setDescription(transactionDto.getDescription());
@@ -73,25 +165,40 @@ public class TransactionService {
         transaction.setType(transactionDto.getType());
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        return convertToDto(updatedTransaction);
+        ledgerService.recordChange(userId, previous, updatedTransaction);
+        changeLogService.recordTransaction(userId, dataVersionService.bump(userId), transactionId, false);
+        TransactionDto updated = convertToDto(updatedTransaction, category.getName());
+        publishChange(userId, ChangeEvent.TRANSACTION_UPDATED, updated, transactionId);
+        return updated;
     }
 
-    public void deleteTransaction(String username, Long transactionId) {
-        Long userId = getUserIdByUsername(username);
-        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
+    @Transactional
+    public void deleteTransaction(Long userId, Long transactionId) {
+        Transaction transaction = transactionRepository.findLockedByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found"));
         transactionRepository.delete(transaction);
+        ledgerService.recordChange(userId, transaction, null);
+        changeLogService.recordTransaction(userId, dataVersionService.bump(userId), transactionId, true);
+        publishChange(userId, ChangeEvent.TRANSACTION_DELETED, null, transactionId);
     }
 
-    public Map<String, Object> getFinancialSummary(String username) {
-        Long userId = getUserIdByUsername(username);
-        
-        BigDecimal totalIncome = transactionRepository.sumByUserIdAndType(userId, TransactionType.INCOME);
-        BigDecimal totalExpense = transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE);
-        
-        if (totalIncome == null) totalIncome = BigDecimal.ZERO;
-        if (totalExpense == null) totalExpense = BigDecimal.ZERO;
-        
+    @Transactional(readOnly = true)
+    public Map<String, Object> getFinancialSummary(Long userId) {
+        return toSummary(ledgerService.getBalance(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRangeSummary(Long userId, LocalDate from, LocalDate to, String groupBy) {
+        return rollupService.summarize(userId, from, to, groupBy);
+    }
+
+    public Map<String, Object> rebuildFinancialSummary(Long userId) {
+        return toSummary(ledgerService.rebuild(userId));
+    }
+
+    private Map<String, Object> toSummary(UserBalance userBalance) {
+        BigDecimal totalIncome = userBalance.getTotalIncome();
+        BigDecimal totalExpense = userBalance.getTotalExpense();
         BigDecimal balance = totalIncome.subtract(totalExpense);
         
         Map<String, Object> summary = new HashMap<>();
@@ -102,13 +209,46 @@ public class TransactionService {
         return summary;
     }
 
-    private Long getUserIdByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UnauthorizedAccessException("User not found"))
-                .getId();
+    /**
+     * Queues a change event for the user's open streams; it is sent only if this transaction
+     * commits. The summary is read inside the transaction so it includes this change.
+     */
+    private void publishChange(Long userId, String type, TransactionDto transaction, Long transactionId) {
+        if (changeStreamHub.isListening(userId)) {
+            Map<String, Object> summary = toSummary(ledgerService.getBalance(userId));
+            eventPublisher.publishEvent(ChangeEvent.transaction(userId, type, transaction, transactionId, summary));
+        }
+    }
+
+    /**
+     * As {@link #publishChange} for writes that touched many rows, such as batches and imports.
+     */
+    void publishBulkChange(Long userId) {
+        if (changeStreamHub.isListening(userId)) {
+            eventPublisher.publishEvent(ChangeEvent.transactions(userId, toSummary(ledgerService.getBalance(userId))));
+        }
+    }
+
+    Transaction snapshot(Transaction transaction) {
+        Transaction copy = new Transaction(transaction.getUserId(), transaction.getCategoryId(), transaction.getAmount(),
+                transaction.getDescription(), transaction.getDate(), transaction.getType());
+        copy.setId(transaction.getId());
+        return copy;
     }
 
-    private TransactionDto convertToDto(Transaction transaction) {
+    List<TransactionDto> convertToDtos(Long userId, List<Transaction> transactions) {
+        // Resolve every referenced category name in one pass instead of one lookup per row
+        Set<Long> categoryIds = transactions.stream()
+                .map(Transaction::getCategoryId)
+                .collect(Collectors.toSet());
+        Map<Long, String> categoryNames = categoryIds.isEmpty()
+                ? Map.of() : categoryService.resolveCategoryNames(userId, categoryIds);
+        return transactions.stream()
+                .map(transaction -> convertToDto(transaction, categoryNames.get(transaction.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    TransactionDto convertToDto(Transaction transaction, String categoryName) {
         TransactionDto dto = new TransactionDto();
         dto.setId(transaction.getId());
         dto.setCategoryId(transaction.getCategoryId());
@@ -116,10 +256,7 @@ public class TransactionService {
         dto.setDescription(transaction.getDescription());
         dto.setDate(transaction.getDate());
         dto.setType(transaction.getType());
-        
-        categoryRepository.findById(transaction.getCategoryId())
-                .ifPresent(category -> dto.setCategoryName(category.getName()));
-        
+        dto.setCategoryName(categoryName);
         return dto;
     }
 }
\ No newline at end of file
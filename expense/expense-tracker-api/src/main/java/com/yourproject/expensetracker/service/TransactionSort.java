@@ -0,0 +1,48 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.exception.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+import java.util.Locale;
+
+/**
+ * Orderings the search endpoint supports. Each ends on id so that keyset paging has a total
+ * order, and starts on userId so the planner can walk the matching user-scoped index in order.
+ */
+public enum TransactionSort {
+    DATE_DESC("date", Sort.Direction.DESC),
+    DATE_ASC("date", Sort.Direction.ASC),
+    AMOUNT_DESC("amount", Sort.Direction.DESC),
+    AMOUNT_ASC("amount", Sort.Direction.ASC);
+
+    private final String property;
+    private final Sort.Direction direction;
+
+    TransactionSort(String property, Sort.Direction direction) {
+        this.property = property;
+        this.direction = direction;
+    }
+
+    /**
+     * Parses "date,desc", "amount,asc" and so on; the direction defaults to descending.
+     */
+    public static TransactionSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DATE_DESC;
+        }
+        String[] parts = value.trim().toUpperCase(Locale.ROOT).split(",");
+        String direction = parts.length > 1 ? parts[1].trim() : "DESC";
+        try {
+            return valueOf(parts[0].trim() + "_" + direction);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("sort must be date or amount, optionally followed by ,asc or ,desc");
+        }
+    }
+
+    public Sort toSort() {
+        return Sort.by(Sort.Order.asc("userId"), new Sort.Order(direction, property), new Sort.Order(direction, "id"));
+    }
+
+    public String getProperty() { return property; }
+
+    public boolean isDescending() { return direction.isDescending(); }
+}
@@ -0,0 +1,32 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.model.Category;
+import com.yourproject.expensetracker.model.CategoryOverride;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything per-user that {@link CategoryService} needs to answer reads: the user's own
+ * categories and their overrides of built-in ones. Cached as a unit and never modified.
+ */
+public class UserCategories {
+
+    private final List<Category> custom;
+    private final Map<Long, CategoryOverride> overrides = new HashMap<>();
+    private final Map<Long, Category> customById = new HashMap<>();
+
+    public UserCategories(List<Category> custom, List<CategoryOverride> overrides) {
+        this.custom = List.copyOf(custom);
+        custom.forEach(category -> customById.put(category.getId(), category));
+        overrides.forEach(override -> this.overrides.put(override.getCategoryId(), override));
+    }
+
+    public List<Category> getCustom() { return custom; }
+
+    public Category getCustom(Long categoryId) { return customById.get(categoryId); }
+
+    public CategoryOverride getOverride(Long categoryId) { return overrides.get(categoryId); }
+
+    public Iterable<CategoryOverride> getOverrides() { return overrides.values(); }
+}
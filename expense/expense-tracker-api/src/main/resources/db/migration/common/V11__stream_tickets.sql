@@ -0,0 +1,12 @@
+-- Single-use tickets that open a change stream (GET /api/events?ticket=...). EventSource cannot
+-- send an Authorization header, so the client trades its bearer token for a ticket that is only
+-- good for a few seconds and one connection. Kept in the database so any instance can redeem it.
+create table stream_tickets (
+    ticket varchar(64) not null,
+    user_id bigint not null,
+    username varchar(50) not null,
+    expires_at bigint not null,
+    primary key (ticket)
+);
+
+create index idx_stream_tickets_expires on stream_tickets (expires_at);
@@ -0,0 +1,12 @@
+-- Every transaction read is scoped to one user. Listing, keyset paging, export and date-range
+-- summaries all filter on user_id and order or range on date, with id as the tie-breaker. The key
+-- is descending to match ORDER BY date DESC, id DESC, so a page reads its rows in index order
+-- and stops at the limit instead of sorting the user's whole history.
+create index idx_transactions_user_date_id on transactions (user_id, date desc, id desc);
+
+-- Ledger rebuild and its fallback sum one user's rows by type
+create index idx_transactions_user_type on transactions (user_id, type);
+
+create index idx_transactions_user_category on transactions (user_id, category_id);
+
+create index idx_categories_user on categories (user_id);
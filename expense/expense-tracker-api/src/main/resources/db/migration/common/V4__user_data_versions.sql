@@ -0,0 +1,9 @@
+-- One counter per user, bumped in the same transaction as every write to their transactions or
+-- categories. Conditional GETs compare it against the client's ETag without reading those tables.
+create table user_data_versions (
+    user_id bigint not null,
+    version bigint not null,
+    primary key (user_id)
+);
+
+insert into user_data_versions (user_id, version) select id, 1 from users;
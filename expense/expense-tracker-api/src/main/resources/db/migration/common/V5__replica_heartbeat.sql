@@ -0,0 +1,10 @@
+-- Written on the primary every few seconds and read back from each replica; the difference
+-- between now and the replicated beat_at is the replica's lag. Engine-neutral, unlike
+-- SHOW REPLICA STATUS, so the same check runs against H2 and MySQL.
+create table replica_heartbeat (
+    id int not null,
+    beat_at bigint not null,
+    primary key (id)
+);
+
+insert into replica_heartbeat (id, beat_at) values (1, 0);
@@ -0,0 +1,4 @@
+-- The search endpoint can order by amount and filter on amount ranges. Keyset paging over
+-- (amount, id) within one user reads this index in order, the same way date-ordered pages read
+-- idx_transactions_user_date_id. Date-ordered searches keep using that index.
+create index idx_transactions_user_amount_id on transactions (user_id, amount desc, id desc);
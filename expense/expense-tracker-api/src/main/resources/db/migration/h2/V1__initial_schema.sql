@@ -0,0 +1,31 @@
+-- Schema as the application created it with ddl-auto=update before migrations were introduced.
+-- Databases from that time are baselined at this version instead of running it, and get
+-- everything added since from the scripts that follow.
+create table users (
+    id bigint generated by default as identity,
+    username varchar(50) not null,
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table categories (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    name varchar(100) not null,
+    type varchar(255) not null check (type in ('INCOME', 'EXPENSE')),
+    primary key (id)
+);
+
+create table transactions (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    category_id bigint not null,
+    amount numeric(10, 2) not null,
+    description varchar(255),
+    date date not null,
+    type varchar(255) not null check (type in ('INCOME', 'EXPENSE')),
+    primary key (id)
+);
@@ -0,0 +1,13 @@
+-- Built-in categories are stored once with no owner, so the owner column becomes nullable.
+-- Users hide or rename a built-in category through an override row of their own.
+alter table categories alter column user_id set null;
+
+create table category_overrides (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    category_id bigint not null,
+    name varchar(100),
+    hidden boolean not null,
+    primary key (id),
+    constraint uk_category_overrides_user_category unique (user_id, category_id)
+);
@@ -0,0 +1,35 @@
+-- Monthly spending limits, per expense category or (category_id null) across all spending. Spend
+-- is read from transaction_rollups. alert_month and alert_percent hold the highest threshold
+-- already alerted on, so each threshold fires once per budget and month.
+create sequence budget_seq start with 1 increment by 50;
+
+create table budgets (
+    id bigint not null,
+    user_id bigint not null,
+    category_id bigint,
+    amount numeric(10, 2) not null,
+    alert_month date,
+    alert_percent integer,
+    primary key (id)
+);
+
+create unique index uk_budgets_user_category on budgets (user_id, category_id);
+
+-- In-app notifications, newest first per user (GET /api/budgets/alerts)
+create sequence budget_alert_seq start with 1 increment by 50;
+
+create table budget_alerts (
+    id bigint not null,
+    user_id bigint not null,
+    budget_id bigint not null,
+    category_id bigint,
+    month_start date not null,
+    threshold integer not null,
+    spent numeric(19, 2) not null,
+    budget_amount numeric(10, 2) not null,
+    created_at bigint not null,
+    read_at bigint,
+    primary key (id)
+);
+
+create index idx_budget_alerts_user on budget_alerts (user_id, id);
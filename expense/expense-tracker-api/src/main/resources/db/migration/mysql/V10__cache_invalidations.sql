@@ -0,0 +1,13 @@
+-- Cache evictions shared between API instances. Each instance polls for rows written by the
+-- others within the last few seconds and purges rows past the retention window.
+create table cache_invalidations (
+    id bigint not null auto_increment,
+    cache_name varchar(50) not null,
+    cache_key varchar(255) not null,
+    key_type varchar(10) not null,
+    origin varchar(36) not null,
+    created_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_cache_invalidations_created on cache_invalidations (created_at);
@@ -0,0 +1,45 @@
+-- Transaction ids come from a pooled sequence so inserts can be JDBC-batched. MySQL has no
+-- sequences; Hibernate keeps the next value in a single-row table instead. It hands out the 50
+-- ids up to the value it reads, so the table starts 50 above the highest id.
+alter table transactions modify id bigint not null;
+create table transaction_seq (next_val bigint) engine=InnoDB;
+insert into transaction_seq select coalesce(max(id), 0) + 50 from transactions;
+
+-- Running income/expense totals per user, read by the financial summary
+create table user_balances (
+    user_id bigint not null,
+    total_income decimal(19, 2) not null,
+    total_expense decimal(19, 2) not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+insert into user_balances (user_id, total_income, total_expense)
+select u.id,
+       coalesce(sum(case when t.type = 'INCOME' then t.amount end), 0),
+       coalesce(sum(case when t.type = 'EXPENSE' then t.amount end), 0)
+from users u left join transactions t on t.user_id = u.id
+group by u.id;
+
+-- (user, month, category, type) totals, read by ranged summaries and budget checks
+create table transaction_rollups (
+    id bigint not null,
+    user_id bigint not null,
+    month_start date not null,
+    category_id bigint not null,
+    type enum ('INCOME', 'EXPENSE') not null,
+    total decimal(19, 2) not null,
+    transaction_count bigint not null,
+    primary key (id),
+    constraint uk_transaction_rollups_bucket unique (user_id, month_start, category_id, type)
+) engine=InnoDB;
+
+insert into transaction_rollups (id, user_id, month_start, category_id, type, total, transaction_count)
+select row_number() over (order by user_id, month_start, category_id, type),
+       user_id, month_start, category_id, type, total, transaction_count
+from (select user_id, date_sub(date, interval dayofmonth(date) - 1 day) month_start, category_id, type,
+             sum(amount) total, count(*) transaction_count
+      from transactions
+      group by user_id, date_sub(date, interval dayofmonth(date) - 1 day), category_id, type) buckets;
+
+create table transaction_rollup_seq (next_val bigint) engine=InnoDB;
+insert into transaction_rollup_seq select coalesce(max(id), 0) + 50 from transaction_rollups;
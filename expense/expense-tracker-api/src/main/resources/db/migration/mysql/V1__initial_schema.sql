@@ -0,0 +1,31 @@
+-- Schema as the application created it with ddl-auto=update before migrations were introduced.
+-- Databases from that time are baselined at this version instead of running it, and get
+-- everything added since from the scripts that follow.
+create table users (
+    id bigint not null auto_increment,
+    username varchar(50) not null,
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table categories (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    name varchar(100) not null,
+    type enum ('INCOME', 'EXPENSE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table transactions (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    category_id bigint not null,
+    amount decimal(10, 2) not null,
+    description varchar(255),
+    date date not null,
+    type enum ('INCOME', 'EXPENSE') not null,
+    primary key (id)
+) engine=InnoDB;
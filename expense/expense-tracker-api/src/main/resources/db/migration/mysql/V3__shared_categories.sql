@@ -0,0 +1,13 @@
+-- Built-in categories are stored once with no owner, so the owner column becomes nullable.
+-- Users hide or rename a built-in category through an override row of their own.
+alter table categories modify user_id bigint null;
+
+create table category_overrides (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    category_id bigint not null,
+    name varchar(100),
+    hidden bit not null,
+    primary key (id),
+    constraint uk_category_overrides_user_category unique (user_id, category_id)
+) engine=InnoDB;
@@ -0,0 +1,22 @@
+-- Append-only record of which of a user's rows changed at which data version, read by
+-- GET /api/changes. Compaction deletes entries superseded by a later entry for the same row, and
+-- everything older than the retention window; change_log_floor remembers the newest version
+-- purged that way, below which a client has to reload in full.
+create table change_log_seq (next_val bigint) engine=InnoDB;
+insert into change_log_seq values (1);
+
+create table change_log (
+    id bigint not null,
+    user_id bigint not null,
+    version bigint not null,
+    entity_type enum ('TRANSACTION', 'CATEGORY') not null,
+    entity_id bigint not null,
+    operation enum ('UPSERT', 'DELETE') not null,
+    changed_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_change_log_user_version on change_log (user_id, version, id);
+create index idx_change_log_user_entity on change_log (user_id, entity_type, entity_id, version);
+
+alter table user_data_versions add column change_log_floor bigint not null default 0;
@@ -0,0 +1,29 @@
+-- Server-side recurring transactions. next_occurrence is the next date to post (null once the
+-- rule has ended); last_occurrence is the latest date already posted. Each posted transaction
+-- carries its rule and occurrence date, and the unique key on the pair means a retried or
+-- concurrent run can never post the same occurrence twice.
+create table recurring_rule_seq (next_val bigint) engine=InnoDB;
+insert into recurring_rule_seq values (1);
+
+create table recurring_rules (
+    id bigint not null,
+    user_id bigint not null,
+    category_id bigint not null,
+    amount decimal(10, 2) not null,
+    description varchar(255),
+    type enum ('INCOME', 'EXPENSE') not null,
+    frequency enum ('WEEKLY', 'MONTHLY', 'YEARLY') not null,
+    start_date date not null,
+    end_date date,
+    next_occurrence date,
+    last_occurrence date,
+    version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_recurring_rules_user on recurring_rules (user_id, id);
+create index idx_recurring_rules_due on recurring_rules (next_occurrence, user_id, id);
+
+alter table transactions add column recurring_rule_id bigint;
+alter table transactions add column occurrence_date date;
+create unique index uk_transactions_recurring_occurrence on transactions (recurring_rule_id, occurrence_date);
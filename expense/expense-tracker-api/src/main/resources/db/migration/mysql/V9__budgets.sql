@@ -0,0 +1,37 @@
+-- Monthly spending limits, per expense category or (category_id null) across all spending. Spend
+-- is read from transaction_rollups. alert_month and alert_percent hold the highest threshold
+-- already alerted on, so each threshold fires once per budget and month.
+create table budget_seq (next_val bigint) engine=InnoDB;
+insert into budget_seq values (1);
+
+create table budgets (
+    id bigint not null,
+    user_id bigint not null,
+    category_id bigint,
+    amount decimal(10, 2) not null,
+    alert_month date,
+    alert_percent integer,
+    primary key (id)
+) engine=InnoDB;
+
+create unique index uk_budgets_user_category on budgets (user_id, category_id);
+
+-- In-app notifications, newest first per user (GET /api/budgets/alerts)
+create table budget_alert_seq (next_val bigint) engine=InnoDB;
+insert into budget_alert_seq values (1);
+
+create table budget_alerts (
+    id bigint not null,
+    user_id bigint not null,
+    budget_id bigint not null,
+    category_id bigint,
+    month_start date not null,
+    threshold integer not null,
+    spent decimal(19, 2) not null,
+    budget_amount decimal(10, 2) not null,
+    created_at bigint not null,
+    read_at bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_budget_alerts_user on budget_alerts (user_id, id);
@@ -0,0 +1,83 @@
+package com.yourproject.expensetracker.analytics;
+
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import com.yourproject.expensetracker.repository.UserDataVersionRepository;
+import com.yourproject.expensetracker.service.CategoryCatalog;
+import com.yourproject.expensetracker.service.TestUsers;
+import com.yourproject.expensetracker.service.TransactionService;
+import com.yourproject.expensetracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "analytics.enabled=true")
+class AnalyticsEngineTest {
+
+    @Autowired
+    private AnalyticsEngine engine;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long userId;
+    private Long categoryId;
+
+    @BeforeEach
+    void createUser() {
+        userId = TestUsers.register(userService);
+        categoryId = catalog.getCategories().get(0).getId();
+    }
+
+    @Test
+    void localWriteIsAppliedToTheCachedHistory() {
+        ColumnarHistory before = engine.history(userId);
+        assertThat(engine.history(userId)).isSameAs(before);
+
+        TransactionDto dto = new TransactionDto();
+        dto.setCategoryId(categoryId);
+        dto.setAmount(new BigDecimal("12.50"));
+        dto.setDate(LocalDate.of(2024, 3, 1));
+        dto.setType(TransactionType.EXPENSE);
+        transactionService.createTransaction(userId, dto);
+
+        assertThat(engine.history(userId).size()).isEqualTo(1);
+    }
+
+    @Test
+    void writeOnAnotherInstanceIsPickedUpByTheNextQuery() {
+        assertThat(engine.history(userId).size()).isZero();
+
+        // Another instance's write changes the rows and the data version, but no event arrives here
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.save(new Transaction(userId, categoryId, new BigDecimal("40.00"), "Elsewhere",
+                    LocalDate.of(2024, 3, 2), TransactionType.EXPENSE));
+            versionRepository.increment(userId);
+        });
+
+        assertThat(engine.history(userId).size()).isEqualTo(1);
+    }
+}
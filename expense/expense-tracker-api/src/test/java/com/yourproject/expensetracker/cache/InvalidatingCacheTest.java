@@ -0,0 +1,76 @@
+package com.yourproject.expensetracker.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two caches on one channel stand in for the same cache on two instances.
+ */
+class InvalidatingCacheTest {
+
+    private final CacheInvalidationChannel channel = new LocalCacheInvalidationChannel();
+    private final InvalidatingCache<Long, String> first = new InvalidatingCache<>("names", 100, Duration.ofMinutes(10), channel);
+    private final InvalidatingCache<Long, String> second = new InvalidatingCache<>("names", 100, Duration.ofMinutes(10), channel);
+
+    @Test
+    void invalidatingOnOneCacheEvictsTheOther() {
+        first.get(1L, id -> "old");
+        second.get(1L, id -> "old");
+
+        first.invalidate(1L);
+
+        assertThat(first.getNativeCache().getIfPresent(1L)).isNull();
+        assertThat(second.getNativeCache().getIfPresent(1L)).isNull();
+        assertThat(second.get(1L, id -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void invalidationLeavesOtherKeysAndCachesAlone() {
+        InvalidatingCache<Long, String> other = new InvalidatingCache<>("other", 100, Duration.ofMinutes(10), channel);
+        second.get(1L, id -> "one");
+        second.get(2L, id -> "two");
+        other.get(1L, id -> "unrelated");
+
+        first.invalidate(1L);
+
+        assertThat(second.getNativeCache().getIfPresent(2L)).isEqualTo("two");
+        assertThat(other.getNativeCache().getIfPresent(1L)).isEqualTo("unrelated");
+    }
+
+    @Test
+    void invalidationInsideATransactionWaitsForTheCommit() {
+        second.get(1L, id -> "old");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            first.invalidate(1L);
+            assertThat(second.getNativeCache().getIfPresent(1L)).isEqualTo("old");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(second.getNativeCache().getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        String value = second.get(1L, id -> {
+            loads.incrementAndGet();
+            // Another instance commits a change while this load is still reading the old row
+            first.invalidate(1L);
+            return "old";
+        });
+
+        assertThat(value).isEqualTo("old");
+        assertThat(second.getNativeCache().getIfPresent(1L)).isNull();
+        second.get(1L, id -> "new");
+        assertThat(second.getNativeCache().getIfPresent(1L)).isEqualTo("new");
+        assertThat(loads).hasValue(1);
+    }
+}
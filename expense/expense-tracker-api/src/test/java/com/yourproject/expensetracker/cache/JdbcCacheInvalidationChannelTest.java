@@ -0,0 +1,99 @@
+package com.yourproject.expensetracker.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two channels on the application's database stand in for two instances. Polling is driven by
+ * hand so each step is deterministic.
+ */
+@SpringBootTest
+class JdbcCacheInvalidationChannelTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A cache name of its own, so the application's scheduled poll cannot interfere
+    private final String name = "test-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Test
+    void invalidationReachesTheOtherInstanceOnItsNextPoll() {
+        JdbcCacheInvalidationChannel channelA = channel();
+        JdbcCacheInvalidationChannel channelB = channel();
+        InvalidatingCache<Long, String> cacheA = new InvalidatingCache<>(name, 100, Duration.ofMinutes(10), channelA);
+        InvalidatingCache<Long, String> cacheB = new InvalidatingCache<>(name, 100, Duration.ofMinutes(10), channelB);
+        cacheA.get(1L, id -> "old");
+        cacheB.get(1L, id -> "old");
+        cacheB.get(2L, id -> "two");
+
+        cacheA.invalidate(1L);
+
+        assertThat(cacheA.getNativeCache().getIfPresent(1L)).isNull();
+        assertThat(cacheB.getNativeCache().getIfPresent(1L)).isEqualTo("old");
+        channelB.poll();
+        assertThat(cacheB.getNativeCache().getIfPresent(1L)).isNull();
+        assertThat(cacheB.getNativeCache().getIfPresent(2L)).isEqualTo("two");
+    }
+
+    @Test
+    void stringKeysKeepTheirType() {
+        JdbcCacheInvalidationChannel channelA = channel();
+        JdbcCacheInvalidationChannel channelB = channel();
+        InvalidatingCache<String, String> cacheB = new InvalidatingCache<>(name, 100, Duration.ofMinutes(10), channelB);
+        cacheB.get("alice", username -> "old");
+
+        channelA.publish(name, "alice");
+        channelB.poll();
+
+        assertThat(cacheB.getNativeCache().getIfPresent("alice")).isNull();
+    }
+
+    @Test
+    void eachInvalidationIsDeliveredOnceAndNotBackToItsPublisher() {
+        JdbcCacheInvalidationChannel channelA = channel();
+        JdbcCacheInvalidationChannel channelB = channel();
+        InvalidatingCache<Long, String> cacheA = new InvalidatingCache<>(name, 100, Duration.ofMinutes(10), channelA);
+        InvalidatingCache<Long, String> cacheB = new InvalidatingCache<>(name, 100, Duration.ofMinutes(10), channelB);
+
+        cacheA.invalidate(1L);
+        channelA.poll();
+        channelB.poll();
+        channelB.poll();
+
+        assertThat(cacheA.getInvalidationCount()).isEqualTo(1);
+        assertThat(cacheB.getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rowCommittedBehindAHigherIdIsStillDelivered() {
+        JdbcCacheInvalidationChannel channelB = channel();
+        InvalidatingCache<Long, String> cacheB = new InvalidatingCache<>(name, 100, Duration.ofMinutes(10), channelB);
+        cacheB.get(1L, id -> "one");
+        cacheB.get(2L, id -> "two");
+        Long first = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class) + 1000;
+
+        // Row 2 commits first; row 1, with the lower id, only becomes visible after the next poll
+        insert(first + 1, 2L);
+        channelB.poll();
+        insert(first, 1L);
+        channelB.poll();
+
+        assertThat(cacheB.getNativeCache().getIfPresent(1L)).isNull();
+        assertThat(cacheB.getNativeCache().getIfPresent(2L)).isNull();
+    }
+
+    private JdbcCacheInvalidationChannel channel() {
+        return new JdbcCacheInvalidationChannel(jdbcTemplate, 10000, 600000);
+    }
+
+    private void insert(long id, long key) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (id, cache_name, cache_key, key_type, origin, created_at)"
+                + " VALUES (?, ?, ?, 'LONG', 'elsewhere', ?)", id, name, Long.toString(key), System.currentTimeMillis());
+    }
+}
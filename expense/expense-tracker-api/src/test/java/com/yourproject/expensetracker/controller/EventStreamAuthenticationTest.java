@@ -0,0 +1,96 @@
+package com.yourproject.expensetracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourproject.expensetracker.config.JwtUtil;
+import com.yourproject.expensetracker.service.TestUsers;
+import com.yourproject.expensetracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The change stream is opened with a single-use ticket; the bearer token is never taken from the URL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventStreamAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void signIn() {
+        Long userId = TestUsers.register(userService);
+        String username = jdbcTemplate.queryForObject("SELECT username FROM users WHERE id = ?", String.class, userId);
+        token = jwtUtil.generateToken(username, userId);
+    }
+
+    @Test
+    void bearerTokenInTheUrlIsRefused() throws Exception {
+        mockMvc.perform(stream().param("access_token", token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void ticketOpensTheStreamOnce() throws Exception {
+        String ticket = issueTicket();
+
+        mockMvc.perform(stream().param("ticket", ticket))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(stream().param("ticket", ticket))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredTicketIsRefused() throws Exception {
+        String ticket = issueTicket();
+        jdbcTemplate.update("UPDATE stream_tickets SET expires_at = ? WHERE ticket = ?", System.currentTimeMillis() - 1, ticket);
+
+        mockMvc.perform(stream().param("ticket", ticket))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void ticketRequiresTheBearerToken() throws Exception {
+        mockMvc.perform(post("/api/events/ticket")).andExpect(status().isUnauthorized());
+    }
+
+    // MockMvc leaves the servlet path empty; under the DispatcherServlet it is the whole path
+    private static MockHttpServletRequestBuilder stream() {
+        return get("/api/events").servletPath("/api/events");
+    }
+
+    private String issueTicket() throws Exception {
+        String body = mockMvc.perform(post("/api/events/ticket").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String ticket = objectMapper.readTree(body).get("ticket").asText();
+        assertThat(ticket).isNotBlank();
+        return ticket;
+    }
+}
@@ -0,0 +1,155 @@
+package com.yourproject.expensetracker.datasource;
+
+import com.yourproject.expensetracker.config.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes over two H2 databases, each holding a marker row that names it. Replication is simulated
+ * by writing the replica's heartbeat by hand before each health check.
+ */
+class ReplicaRoutingTest {
+
+    private static final long MAX_LAG_MS = 1000;
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void createDatabases() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        primary = database("primary-" + suffix, "primary");
+        replica = database("replica-" + suffix, "replica");
+        readYourWrites = new ReadYourWrites(60000, 1000);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() {
+        Routing routing = new Routing(replica);
+        replicaHeartbeat(System.currentTimeMillis());
+        routing.monitor.check();
+
+        assertThat(routing.read()).isEqualTo("replica");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    void recentWriterReadsFromThePrimary() {
+        Routing routing = new Routing(replica);
+        replicaHeartbeat(System.currentTimeMillis());
+        routing.monitor.check();
+
+        readYourWrites.recordWrite(1L);
+
+        signIn(1L);
+        assertThat(routing.read()).isEqualTo("primary");
+        signIn(2L);
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimaryUntilItCatchesUp() {
+        Routing routing = new Routing(replica);
+        replicaHeartbeat(System.currentTimeMillis() - 5 * MAX_LAG_MS);
+        routing.monitor.check();
+
+        assertThat(routing.read()).isEqualTo("primary");
+
+        replicaHeartbeat(System.currentTimeMillis());
+        routing.monitor.check();
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        Routing routing = new Routing(missing);
+        routing.monitor.check();
+
+        assertThat(routing.monitor.chooseReplica()).isNull();
+        assertThat(routing.read()).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaIsOutOfUseUntilItsFirstCheck() {
+        Routing routing = new Routing(replica);
+        replicaHeartbeat(System.currentTimeMillis());
+
+        assertThat(routing.read()).isEqualTo("primary");
+    }
+
+    private void replicaHeartbeat(long beatAt) {
+        new JdbcTemplate(replica).update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", beatAt);
+    }
+
+    private static void signIn(Long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user" + userId);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static DataSource database(String name, String marker) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, 0)");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20) NOT NULL)");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+
+    /**
+     * The datasource stack ReplicaRoutingConfig builds, over the given replica.
+     */
+    private final class Routing {
+        private final ReplicaHealthMonitor monitor;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        private Routing(DataSource replicaDataSource) {
+            monitor = new ReplicaHealthMonitor(primary, List.of(replicaDataSource), MAX_LAG_MS);
+            Map<Object, Object> targets = new HashMap<>(monitor.getDataSources());
+            targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(monitor, readYourWrites);
+            routing.setTargetDataSources(targets);
+            routing.setDefaultTargetDataSource(primary);
+            routing.afterPropertiesSet();
+
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            jdbc = new JdbcTemplate(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        String read() {
+            return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String write() {
+            return readWrite.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+        }
+    }
+}
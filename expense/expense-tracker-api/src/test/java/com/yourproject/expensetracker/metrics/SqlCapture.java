@@ -0,0 +1,29 @@
+package com.yourproject.expensetracker.metrics;
+
+import java.util.List;
+
+/**
+ * Collects the statements Hibernate prepares on the current thread, through the same statement
+ * inspector that feeds the per-request SQL metrics, until closed.
+ */
+public final class SqlCapture implements AutoCloseable {
+
+    private final RequestSqlStats stats;
+
+    private SqlCapture() {
+        this.stats = RequestSqlStats.begin(true);
+    }
+
+    public static SqlCapture start() {
+        return new SqlCapture();
+    }
+
+    public int getStatements() { return stats.getStatements(); }
+
+    public List<String> getSql() { return stats.getSql(); }
+
+    @Override
+    public void close() {
+        RequestSqlStats.end();
+    }
+}
@@ -0,0 +1,191 @@
+package com.yourproject.expensetracker.repository;
+
+import com.yourproject.expensetracker.metrics.SqlCapture;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.service.TestUsers;
+import com.yourproject.expensetracker.service.TransactionFilter;
+import com.yourproject.expensetracker.service.TransactionService;
+import com.yourproject.expensetracker.service.TransactionSort;
+import com.yourproject.expensetracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the main repository queries and checks that
+ * each plan uses the index the migrations create for it. The statements are captured from the
+ * repository calls themselves, so a query rewritten so that it no longer matches its index fails
+ * here as well as a dropped or renamed index.
+ */
+@SpringBootTest
+class RepositoryQueryPlanTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryOverrideRepository categoryOverrideRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = TestUsers.register(userService);
+    }
+
+    @Test
+    void transactionPagesWalkTheDateIndexInOrder() {
+        String firstPage = planOf("transactions",
+                () -> transactionRepository.findFirstPageByUserId(userId, PageRequest.of(0, 51)));
+        assertThat(firstPage).contains("idx_transactions_user_date_id").contains("index sorted");
+
+        assertThat(planOf("transactions",
+                () -> transactionRepository.findPageByUserIdAfter(userId, DAY, 1000L, PageRequest.of(0, 51))))
+                .contains("idx_transactions_user_date_id");
+        assertThat(planOf("transactions", () -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Transaction> rows = transactionRepository.streamByUserId(userId)) {
+                rows.count();
+            }
+        }))).contains("idx_transactions_user_date_id");
+    }
+
+    @Test
+    void amountSearchUsesTheAmountIndex() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setMinAmount(new BigDecimal("500"));
+        filter.setSort(TransactionSort.AMOUNT_DESC);
+
+        assertThat(planOf("transactions", () -> transactionService.searchTransactions(userId, filter, 50, null)))
+                .contains("idx_transactions_user_amount_id");
+    }
+
+    @Test
+    void transactionAggregatesUseUserScopedIndexes() {
+        assertThat(planOf("transactions",
+                () -> transactionRepository.sumByCategoryAndTypeBetween(userId, DAY, DAY.plusYears(1))))
+                .contains("idx_transactions_user_date_id");
+        assertThat(planOf("transactions",
+                () -> transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE)))
+                .contains("idx_transactions_user_type");
+        assertThat(planOf("transactions", () -> transactionRepository.findByUserIdAndCategoryId(userId, 1L)))
+                .contains("idx_transactions_user_category");
+    }
+
+    @Test
+    void rollupReadsUseTheBucketKey() {
+        assertThat(planOf("transaction_rollups", () -> rollupRepository.sumByMonth(userId, DAY, DAY.plusMonths(11))))
+                .contains("uk_transaction_rollups_bucket");
+        assertThat(planOf("transaction_rollups",
+                () -> rollupRepository.findTotal(userId, DAY, 1L, TransactionType.EXPENSE)))
+                .contains("uk_transaction_rollups_bucket");
+    }
+
+    @Test
+    void changeLogReadsUseTheirIndexes() {
+        assertThat(planOf("change_log",
+                () -> changeLogRepository.findPageByUserIdAfter(userId, 10, 1000, PageRequest.of(0, 501))))
+                .contains("idx_change_log_user_version");
+        assertThat(planOf("change_log", () -> changeLogRepository.findSupersededIds(userId)))
+                .contains("idx_change_log_user_entity");
+    }
+
+    @Test
+    void recurringRuleReadsUseTheirIndexes() {
+        assertThat(planOf("recurring_rules",
+                () -> recurringRuleRepository.findDuePage(DAY.plusDays(30), 16, 3, DAY, 7, 1000, PageRequest.of(0, 500))))
+                .contains("idx_recurring_rules_due");
+        assertThat(planOf("recurring_rules", () -> recurringRuleRepository.findByUserId(userId)))
+                .contains("idx_recurring_rules_user");
+    }
+
+    @Test
+    void perUserListsUseUserScopedIndexes() {
+        assertThat(planOf("budgets", () -> budgetRepository.findByUserId(userId)))
+                .contains("uk_budgets_user_category");
+        assertThat(planOf("budget_alerts", () -> budgetAlertRepository.findLatest(userId, PageRequest.of(0, 50))))
+                .contains("idx_budget_alerts_user");
+        assertThat(planOf("categories", () -> categoryRepository.findByUserId(userId)))
+                .contains("idx_categories_user");
+        assertThat(planOf("category_overrides", () -> categoryOverrideRepository.findByUserId(userId)))
+                .contains("uk_category_overrides_user_category");
+    }
+
+    /**
+     * Runs the call, takes the first statement it issued against the table, and returns that
+     * statement's plan in lower case. Parameters are left null; H2 picks the index at prepare time.
+     */
+    private String planOf(String table, Runnable call) {
+        String sql;
+        try (SqlCapture capture = SqlCapture.start()) {
+            call.run();
+            sql = capture.getSql().stream()
+                    .filter(statement -> statement.toLowerCase(Locale.ROOT).contains(" from " + table + " "))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No statement against " + table + " in " + capture.getSql()));
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().toLowerCase(Locale.ROOT);
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for " + sql, e);
+        }
+    }
+}
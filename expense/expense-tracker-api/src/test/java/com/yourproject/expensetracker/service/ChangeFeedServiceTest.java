@@ -0,0 +1,74 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.ChangeSetDto;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.UserDataVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cursors at the change log floor: compaction purged the floor version's own entries, so only a
+ * cursor past all of that version can still be served from the log.
+ */
+@SpringBootTest
+class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long userId;
+    private long floor;
+
+    @BeforeEach
+    void compactFirstChange() {
+        userId = TestUsers.register(userService);
+        categoryService.createCategory(userId, new CategoryDto(null, "Purged", TransactionType.EXPENSE));
+        floor = dataVersionService.getVersion(userId);
+        categoryService.createCategory(userId, new CategoryDto(null, "Kept", TransactionType.EXPENSE));
+        transactionTemplate.executeWithoutResult(status -> versionRepository.raiseChangeLogFloor(userId, floor));
+    }
+
+    @Test
+    void cursorPartwayThroughTheFloorVersionResets() {
+        ChangeSetDto changes = changeFeedService.getChanges(userId, new ChangeCursor(floor, 1L).encode(), null);
+
+        assertThat(changes.isReset()).isTrue();
+        assertThat(changes.getCursor()).isEqualTo(ChangeCursor.atVersion(dataVersionService.getVersion(userId)).encode());
+    }
+
+    @Test
+    void cursorPastTheWholeFloorVersionIsServedFromTheLog() {
+        ChangeSetDto changes = changeFeedService.getChanges(userId, ChangeCursor.atVersion(floor).encode(), null);
+
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.getCategories()).extracting(CategoryDto::getName).containsExactly("Kept");
+    }
+
+    @Test
+    void cursorBelowTheFloorResets() {
+        ChangeSetDto changes = changeFeedService.getChanges(userId, ChangeCursor.atVersion(floor - 1).encode(), null);
+
+        assertThat(changes.isReset()).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionRollup;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import com.yourproject.expensetracker.repository.TransactionRollupRepository;
+import com.yourproject.expensetracker.repository.UserBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The startup backfill brings accounts written before the ledger or before the rollups up to date.
+ */
+@SpringBootTest
+class LedgerBackfillTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private UserBalanceRepository balanceRepository;
+
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void backfillsRollupsForAccountsWhoseBalanceRowPredatesThem() {
+        Long userId = TestUsers.register(userService);
+        // Rows written with the balance kept current but no rollups, as before the rollups existed
+        writeRows(userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            balanceRepository.addToTotals(userId, BigDecimal.ZERO, new BigDecimal("35.00"));
+            rollupRepository.deleteByUserId(userId);
+        });
+
+        ledgerService.backfillOnStartup();
+
+        assertThat(rollupRepository.findByUserIdAndMonthStartBetween(userId, MARCH, MARCH))
+                .extracting(TransactionRollup::getTotal)
+                .containsExactly(new BigDecimal("35.00"));
+        assertThat(ledgerService.getBalance(userId).getTotalExpense()).isEqualByComparingTo("35.00");
+    }
+
+    @Test
+    void backfillsBalanceAndRollupsForAccountsThatPredateTheLedger() {
+        Long userId = TestUsers.register(userService);
+        writeRows(userId);
+        balanceRepository.deleteById(userId);
+
+        ledgerService.backfillOnStartup();
+
+        assertThat(balanceRepository.findById(userId)).hasValueSatisfying(
+                balance -> assertThat(balance.getTotalExpense()).isEqualByComparingTo("35.00"));
+        assertThat(rollupRepository.findByUserIdAndMonthStartBetween(userId, MARCH, MARCH)).hasSize(1);
+    }
+
+    private void writeRows(Long userId) {
+        Long categoryId = catalog.getCategories().stream()
+                .filter(category -> category.getType() == TransactionType.EXPENSE)
+                .findFirst().orElseThrow().getId();
+        transactionRepository.saveAll(List.of(
+                new Transaction(userId, categoryId, new BigDecimal("15.00"), "One", MARCH.plusDays(2), TransactionType.EXPENSE),
+                new Transaction(userId, categoryId, new BigDecimal("20.00"), "Two", MARCH.plusDays(9), TransactionType.EXPENSE)));
+    }
+}
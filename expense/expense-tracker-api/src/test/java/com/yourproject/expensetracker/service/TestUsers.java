@@ -0,0 +1,21 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.RegisterRequest;
+import java.util.UUID;
+
+/**
+ * Registers throwaway users, so tests sharing one application context never see each other's data.
+ */
+public final class TestUsers {
+
+    private TestUsers() {}
+
+    public static Long register(UserService userService) {
+        String name = "u" + UUID.randomUUID().toString().substring(0, 8);
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(name);
+        request.setEmail(name + "@example.com");
+        request.setPassword("password123");
+        return userService.registerUser(request, "not-a-real-hash").getId();
+    }
+}
@@ -0,0 +1,71 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.ImportErrorDto;
+import com.yourproject.expensetracker.dto.ImportResultDto;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "transactions.import.chunk-size=4")
+class TransactionImportServiceTest {
+
+    // Rows with this amount fail to store, the way a row the database rejects would
+    private static final BigDecimal UNSTORABLE = new BigDecimal("13.13");
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private LedgerService ledgerService;
+
+    @Test
+    void failedChunkReportsOnlyTheRowsThatCannotBeStored() throws Exception {
+        doAnswer(invocation -> {
+            List<Transaction> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> row.getAmount().compareTo(UNSTORABLE) == 0)) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            return invocation.callRealMethod();
+        }).when(ledgerService).recordCreated(anyLong(), anyList());
+        Long userId = TestUsers.register(userService);
+
+        String csv = """
+                date,amount,category,type
+                2024-03-01,10.00,Groceries,EXPENSE
+                2024-03-02,13.13,Groceries,EXPENSE
+                2024-03-03,20.00,Groceries,EXPENSE
+                2024-03-04,30.00,Groceries,EXPENSE
+                2024-03-05,40.00,Groceries,EXPENSE
+                2024-03-06,13.13,Groceries,EXPENSE
+                """;
+        ImportResultDto result = importService.importTransactions(userId,
+                new BufferedReader(new StringReader(csv)), TransactionImportService.Format.CSV);
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportErrorDto::getLine).containsExactly(3L, 7L);
+        assertThat(transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE))
+                .isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getBalance(userId).getTotalExpense()).isEqualByComparingTo("100.00");
+    }
+}
@@ -0,0 +1,158 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.dto.BatchOperationDto;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.exception.TransactionNotFoundException;
+import com.yourproject.expensetracker.model.TransactionRollup;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import com.yourproject.expensetracker.repository.TransactionRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent writers of the same transaction must each adjust the ledger from the version the
+ * previous writer committed, so the running totals and rollups end up matching the rows.
+ */
+@SpringBootTest
+class TransactionLedgerConcurrencyTest {
+
+    private static final int WRITERS = 16;
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionBatchService batchService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void concurrentUpdatesOfOneTransactionKeepTheLedgerExact() throws Exception {
+        Long userId = TestUsers.register(userService);
+        Long id = transactionService.createTransaction(userId, values(10)).getId();
+
+        concurrently(i -> transactionService.updateTransaction(userId, id, values(20 + i)));
+
+        assertLedgerMatchesRows(userId);
+    }
+
+    @Test
+    void concurrentBatchUpdatesKeepTheLedgerExact() throws Exception {
+        Long userId = TestUsers.register(userService);
+        Long first = transactionService.createTransaction(userId, values(10)).getId();
+        Long second = transactionService.createTransaction(userId, values(10)).getId();
+
+        concurrently(i -> {
+            // Half the batches name the rows in the opposite order
+            List<Long> ids = i % 2 == 0 ? List.of(first, second) : List.of(second, first);
+            List<BatchOperationDto> operations = new ArrayList<>();
+            for (Long id : ids) {
+                BatchOperationDto operation = new BatchOperationDto();
+                operation.setOp("update");
+                operation.setId(id);
+                operation.setTransaction(values(20 + i));
+                operations.add(operation);
+            }
+            batchService.apply(userId, operations);
+        });
+
+        assertLedgerMatchesRows(userId);
+    }
+
+    @Test
+    void concurrentUpdatesAndDeleteKeepTheLedgerExact() throws Exception {
+        Long userId = TestUsers.register(userService);
+        Long id = transactionService.createTransaction(userId, values(10)).getId();
+
+        concurrently(i -> {
+            if (i == WRITERS / 2) {
+                transactionService.deleteTransaction(userId, id);
+            } else {
+                transactionService.updateTransaction(userId, id, values(20 + i));
+            }
+        });
+
+        assertLedgerMatchesRows(userId);
+    }
+
+    private void assertLedgerMatchesRows(Long userId) {
+        BigDecimal actual = transactionRepository.sumByUserIdAndType(userId, TransactionType.EXPENSE);
+        BigDecimal expected = actual != null ? actual : BigDecimal.ZERO;
+        assertThat(ledgerService.getBalance(userId).getTotalExpense()).isEqualByComparingTo(expected);
+
+        BigDecimal rolledUp = rollupRepository.findByUserIdAndMonthStartBetween(userId, DATE.withDayOfMonth(1),
+                        DATE.withDayOfMonth(1)).stream()
+                .map(TransactionRollup::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(rolledUp).isEqualByComparingTo(expected);
+    }
+
+    /**
+     * Runs the writer once per thread, all released together. Writers that lose to a delete fail
+     * with "not found", which is expected; any other failure fails the test.
+     */
+    private void concurrently(IntConsumer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                int n = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        writer.accept(n);
+                    } catch (TransactionNotFoundException e) {
+                        // Deleted by an earlier writer
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TransactionDto values(int amount) {
+        TransactionDto dto = new TransactionDto();
+        dto.setCategoryId(catalog.getCategories().stream()
+                .filter(category -> category.getType() == TransactionType.EXPENSE)
+                .findFirst().orElseThrow().getId());
+        dto.setAmount(BigDecimal.valueOf(amount));
+        dto.setDescription("Concurrent");
+        dto.setDate(DATE);
+        dto.setType(TransactionType.EXPENSE);
+        return dto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.cache.InvalidatingCache;
+import com.yourproject.expensetracker.dto.CategoryDto;
+import com.yourproject.expensetracker.dto.TransactionPageDto;
+import com.yourproject.expensetracker.metrics.SqlCapture;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing transactions resolves every category name in one lookup, so the statement count of a
+ * read must not grow with the number of rows or of distinct categories they reference.
+ */
+@SpringBootTest
+class TransactionReadStatementCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InvalidatingCache<Long, UserCategories> categoryCache;
+
+    @Test
+    void pageReadIssuesTheSameStatementsForOneRowAndForHundreds() {
+        Long small = userWithTransactions(1, 1);
+        Long large = userWithTransactions(300, 20);
+
+        int smallCount = statementsFor(() -> transactionService.getUserTransactionPage(small, 500, null), small);
+        int largeCount = statementsFor(() -> transactionService.getUserTransactionPage(large, 500, null), large);
+
+        assertThat(largeCount).isEqualTo(smallCount);
+        assertThat(transactionService.getUserTransactionPage(large, 500, null).getItems())
+                .hasSize(300)
+                .allSatisfy(dto -> assertThat(dto.getCategoryName()).isNotNull());
+    }
+
+    @Test
+    void fullListIssuesTheSameStatementsForOneRowAndForHundreds() {
+        Long small = userWithTransactions(1, 1);
+        Long large = userWithTransactions(300, 20);
+
+        int smallCount = statementsFor(() -> transactionService.getUserTransactions(small), small);
+        int largeCount = statementsFor(() -> transactionService.getUserTransactions(large), large);
+
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    /**
+     * Statements issued by one read with the user's categories not yet cached, which is the
+     * most a read can cost.
+     */
+    private int statementsFor(Runnable read, Long userId) {
+        categoryCache.getNativeCache().invalidate(userId);
+        try (SqlCapture capture = SqlCapture.start()) {
+            read.run();
+            return capture.getStatements();
+        }
+    }
+
+    /**
+     * A new user whose transactions are spread over {@code customCategories} of their own
+     * categories and the built-in ones.
+     */
+    private Long userWithTransactions(int count, int customCategories) {
+        Long userId = TestUsers.register(userService);
+
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < customCategories; i++) {
+            categoryIds.add(categoryService.createCategory(userId,
+                    new CategoryDto(null, "Custom " + i, TransactionType.EXPENSE)).getId());
+        }
+        catalog.getCategories().forEach(category -> categoryIds.add(category.getId()));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(new Transaction(userId, categoryIds.get(i % categoryIds.size()), BigDecimal.TEN,
+                    "Row " + i, LocalDate.of(2024, 1, 1).plusDays(i), TransactionType.EXPENSE));
+        }
+        transactionRepository.saveAll(transactions);
+        return userId;
+    }
+}
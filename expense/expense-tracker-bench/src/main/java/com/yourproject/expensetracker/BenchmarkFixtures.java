@@ -0,0 +1,72 @@
+package com.yourproject.expensetracker;
+
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import org.springframework.util.ReflectionUtils;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic data and wiring shared by the benchmarks. Services are built without a Spring
+ * context, so their {@code @Autowired} fields are set directly.
+ */
+public final class BenchmarkFixtures {
+
+    public static final long USER_ID = 42L;
+
+    private static final String[] DESCRIPTIONS = {
+            "Groceries at BigBasket", "Uber to office", "Monthly salary", "Electricity bill",
+            "Dinner with friends", "Netflix subscription", "Petrol", "Pharmacy"
+    };
+
+    private BenchmarkFixtures() {}
+
+    public static List<Transaction> transactions(int count) {
+        Random random = new Random(count);
+        LocalDate start = LocalDate.of(2022, 1, 1);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean income = random.nextInt(10) == 0;
+            Transaction transaction = new Transaction(
+                    USER_ID,
+                    (long) (income ? 1 + random.nextInt(8) : 9 + random.nextInt(23)),
+                    BigDecimal.valueOf(100 + random.nextInt(5_000_000), 2),
+                    DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                    start.plusDays(random.nextInt(1460)),
+                    income ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setId((long) i + 1);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    public static List<TransactionDto> transactionDtos(int count) {
+        List<TransactionDto> dtos = new ArrayList<>(count);
+        for (Transaction transaction : transactions(count)) {
+            TransactionDto dto = new TransactionDto();
+            dto.setId(transaction.getId());
+            dto.setCategoryId(transaction.getCategoryId());
+            dto.setAmount(transaction.getAmount());
+            dto.setDescription(transaction.getDescription());
+            dto.setDate(transaction.getDate());
+            dto.setType(transaction.getType());
+            dto.setCategoryName("Category " + transaction.getCategoryId());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    public static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
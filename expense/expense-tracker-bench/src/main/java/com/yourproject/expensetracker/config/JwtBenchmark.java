@@ -0,0 +1,54 @@
+package com.yourproject.expensetracker.config;
+
+import com.yourproject.expensetracker.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. {@code authenticate} with the cache on is the steady-state cost
+ * of a repeat request; with it off it is the full HMAC verify and claims parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil(cacheEnabled);
+        token = jwtUtil.generateToken("benchmark-user", BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark-user", BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "benchmark-user");
+    }
+
+    @Benchmark
+    public UserPrincipal authenticate() {
+        return jwtUtil.authenticate(token);
+    }
+
+    static JwtUtil newJwtUtil(boolean cacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        BenchmarkFixtures.inject(jwtUtil, "secret", "benchmarkSecretKeyThatIsLongEnoughForHmacSha256");
+        BenchmarkFixtures.inject(jwtUtil, "expiration", 86_400_000L);
+        BenchmarkFixtures.inject(jwtUtil, "tokenCache", new JwtTokenCache(cacheEnabled, 10_000));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,89 @@
+package com.yourproject.expensetracker.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects raw per-endpoint latencies so exact percentiles can be computed once the run ends.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        series.computeIfAbsent(endpoint, key -> new Series()).add(nanos, ok);
+    }
+
+    /**
+     * One summary per endpoint plus an "ALL" row, ordered by endpoint name.
+     */
+    Map<String, Map<String, Object>> summarize(double seconds) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        Series all = new Series();
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            result.put(entry.getKey(), entry.getValue().summarize(seconds));
+            all.addAll(entry.getValue());
+        }
+        result.put("ALL", all.summarize(seconds));
+        return result;
+    }
+
+    private static final class Series {
+        private long[] samples = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean ok) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Series other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    add(other.samples[i], true);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized Map<String, Object> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", round(count / seconds));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p90Ms", percentile(sorted, 0.90));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("p999Ms", percentile(sorted, 0.999));
+            summary.put("maxMs", sorted.length == 0 ? 0.0 : millis(sorted[sorted.length - 1]));
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return millis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
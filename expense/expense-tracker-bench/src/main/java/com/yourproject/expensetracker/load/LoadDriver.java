@@ -0,0 +1,279 @@
+package com.yourproject.expensetracker.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load driver that replays the UI's traffic against a running API. Each virtual user
+ * logs in as one of the seeded accounts and loops over a weighted mix of dashboard loads, history
+ * paging and create/edit/delete, recording every request's latency under its route.
+ *
+ * <pre>
+ * java -cp expense-tracker-bench/target/benchmarks.jar com.yourproject.expensetracker.load.LoadDriver \
+ *      --base-url http://localhost:8081 --users 10 --concurrency 50 --duration 60 --warmup 15
+ * </pre>
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private volatile long measureFrom;
+    private volatile long measureTo;
+
+    LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8081");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        new LoadDriver(options).run();
+    }
+
+    void run() throws Exception {
+        int users = Integer.parseInt(option("users", "10"));
+        int concurrency = Integer.parseInt(option("concurrency", "50"));
+        int warmupSeconds = Integer.parseInt(option("warmup", "15"));
+        int durationSeconds = Integer.parseInt(option("duration", "60"));
+        long thinkMillis = Long.parseLong(option("think-ms", "0"));
+
+        long start = System.nanoTime();
+        measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        measureTo = end;
+
+        System.out.printf("Driving %s with %d virtual users over %d accounts: %ds warm-up, %ds measured%n",
+                baseUrl, concurrency, users, warmupSeconds, durationSeconds);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                String username = option("username-prefix", "loaduser") + (i % users + 1);
+                workers.submit(() -> new Session(username, thinkMillis).loop(end));
+            }
+        }
+
+        Map<String, Map<String, Object>> endpoints = recorder.summarize(durationSeconds);
+        print(endpoints);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("users", users);
+        report.put("concurrency", concurrency);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("durationSeconds", durationSeconds);
+        report.put("thinkMillis", thinkMillis);
+        report.put("endpoints", endpoints);
+        File out = new File(option("out", "load-result.json"));
+        MAPPER.writeValue(out, report);
+        System.out.println("Results written to " + out.getAbsolutePath());
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static void print(Map<String, Map<String, Object>> endpoints) {
+        System.out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, s) -> System.out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                name, s.get("requests"), s.get("errors"), s.get("throughputPerSecond"), s.get("p50Ms"),
+                s.get("p90Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs")));
+    }
+
+    /**
+     * One simulated browser tab. Keeps its own token, category list and the ids it created, so
+     * edits and deletes only ever touch rows this session owns.
+     */
+    private final class Session {
+        private final String username;
+        private final long thinkMillis;
+        private final List<Long> created = new ArrayList<>();
+        private final List<JsonNode> categories = new ArrayList<>();
+        private String token;
+        // Set from a 503's Retry-After; a real client waits that long instead of retrying at once
+        private long backoffMillis;
+
+        Session(String username, long thinkMillis) {
+            this.username = username;
+            this.thinkMillis = thinkMillis;
+        }
+
+        void loop(long end) {
+            while (System.nanoTime() < end) {
+                try {
+                    if (token == null || ThreadLocalRandom.current().nextInt(100) < 2) {
+                        login();
+                    }
+                    int roll = ThreadLocalRandom.current().nextInt(100);
+                    if (roll < 50) {
+                        dashboard();
+                    } else if (roll < 70) {
+                        browseHistory();
+                    } else if (roll < 85 || created.isEmpty()) {
+                        create();
+                    } else if (roll < 95) {
+                        edit();
+                    } else {
+                        delete();
+                    }
+                    if (thinkMillis > 0) {
+                        Thread.sleep(thinkMillis);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    // Already recorded as an error; start the next iteration from a clean login
+                    token = null;
+                    if (backoffMillis > 0) {
+                        try {
+                            Thread.sleep(backoffMillis);
+                        } catch (InterruptedException interrupted) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        backoffMillis = 0;
+                    }
+                }
+            }
+        }
+
+        private void login() throws Exception {
+            String body = MAPPER.writeValueAsString(Map.of("username", username,
+                    "password", option("password", "password123")));
+            JsonNode response = send("POST /api/auth/login", "POST", "/api/auth/login", body, false);
+            token = response.get("token").asText();
+        }
+
+        private void dashboard() throws Exception {
+            JsonNode list = send("GET /api/categories", "GET", "/api/categories", null, true);
+            categories.clear();
+            list.forEach(categories::add);
+            send("GET /api/transactions?limit", "GET", "/api/transactions?limit=5", null, true);
+            send("GET /api/transactions/summary", "GET", "/api/transactions/summary", null, true);
+
+            LocalDate today = LocalDate.now();
+            LocalDate from = today.minusMonths(5).withDayOfMonth(1);
+            LocalDate to = today.withDayOfMonth(today.lengthOfMonth());
+            send("GET /api/transactions/summary?month", "GET",
+                    "/api/transactions/summary?groupBy=month&from=" + from + "&to=" + to, null, true);
+            send("GET /api/transactions/summary?category", "GET",
+                    "/api/transactions/summary?groupBy=category", null, true);
+        }
+
+        private void browseHistory() throws Exception {
+            JsonNode page = send("GET /api/transactions?limit", "GET", "/api/transactions?limit=50", null, true);
+            for (int i = 0; i < 2 && page.hasNonNull("next"); i++) {
+                String cursor = URLEncoder.encode(page.get("next").asText(), StandardCharsets.UTF_8);
+                page = send("GET /api/transactions?cursor", "GET",
+                        "/api/transactions?limit=50&cursor=" + cursor, null, true);
+            }
+        }
+
+        private void create() throws Exception {
+            JsonNode response = send("POST /api/transactions", "POST", "/api/transactions", newTransaction(), true);
+            created.add(response.get("id").asLong());
+        }
+
+        private void edit() throws Exception {
+            Long id = created.get(ThreadLocalRandom.current().nextInt(created.size()));
+            send("PUT /api/transactions/{id}", "PUT", "/api/transactions/" + id, newTransaction(), true);
+        }
+
+        private void delete() throws Exception {
+            Long id = created.remove(created.size() - 1);
+            send("DELETE /api/transactions/{id}", "DELETE", "/api/transactions/" + id, null, true);
+        }
+
+        private String newTransaction() throws Exception {
+            if (categories.isEmpty()) {
+                send("GET /api/categories", "GET", "/api/categories", null, true).forEach(categories::add);
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            JsonNode category = categories.get(random.nextInt(categories.size()));
+            Map<String, Object> transaction = new LinkedHashMap<>();
+            transaction.put("categoryId", category.get("id").asLong());
+            transaction.put("amount", random.nextInt(100, 500_000) / 100.0);
+            transaction.put("description", "Load test");
+            transaction.put("date", LocalDate.now().minusDays(random.nextInt(365)).toString());
+            transaction.put("type", category.get("type").asText());
+            return MAPPER.writeValueAsString(transaction);
+        }
+
+        private JsonNode send(String endpoint, String method, String path, String body, boolean authenticated)
+                throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .method(method, body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofString(body));
+            if (body != null) {
+                request.header("Content-Type", "application/json");
+            }
+            if (authenticated) {
+                request.header("Authorization", "Bearer " + token);
+            }
+
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                record(endpoint, started, false);
+                throw e;
+            }
+            boolean ok = response.statusCode() / 100 == 2;
+            record(endpoint, started, ok);
+            if (!ok) {
+                if (response.statusCode() == 503) {
+                    backoffMillis = response.headers().firstValueAsLong("Retry-After").orElse(1) * 1000;
+                }
+                throw new IOException(endpoint + " returned " + response.statusCode());
+            }
+            return response.body().length == 0 ? MAPPER.nullNode() : MAPPER.readTree(response.body());
+        }
+
+        private void record(String endpoint, long started, boolean ok) {
+            long finished = System.nanoTime();
+            // Only requests issued inside the measured window count, so throughput is per measured second
+            if (started >= measureFrom && started < measureTo) {
+                recorder.record(endpoint, finished - started, ok);
+            }
+        }
+    }
+}
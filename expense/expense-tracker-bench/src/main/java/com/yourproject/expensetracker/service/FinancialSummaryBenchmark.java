@@ -0,0 +1,66 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.BenchmarkFixtures;
+import com.yourproject.expensetracker.model.Transaction;
+import com.yourproject.expensetracker.model.TransactionType;
+import com.yourproject.expensetracker.model.UserBalance;
+import org.openjdk.jmh.annotations.*;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getFinancialSummary} now reads pre-aggregated totals, so its own cost is the BigDecimal
+ * arithmetic over one ledger row. {@code aggregateRows} is the fold the totals replace: summing
+ * every transaction's amount by type, as a full recompute has to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinancialSummaryBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private TransactionService transactionService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        transactions = BenchmarkFixtures.transactions(rows);
+        UserBalance balance = new UserBalance(BenchmarkFixtures.USER_ID,
+                sum(transactions, TransactionType.INCOME), sum(transactions, TransactionType.EXPENSE));
+
+        transactionService = new TransactionService();
+        BenchmarkFixtures.inject(transactionService, "ledgerService", new LedgerService() {
+            @Override
+            public UserBalance getBalance(Long userId) {
+                return balance;
+            }
+        });
+    }
+
+    @Benchmark
+    public Map<String, Object> getFinancialSummary() {
+        return transactionService.getFinancialSummary(BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public BigDecimal aggregateRows() {
+        return sum(transactions, TransactionType.INCOME).subtract(sum(transactions, TransactionType.EXPENSE));
+    }
+
+    private static BigDecimal sum(List<Transaction> transactions, TransactionType type) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() == type) {
+                total = total.add(transaction.getAmount());
+            }
+        }
+        return total;
+    }
+}
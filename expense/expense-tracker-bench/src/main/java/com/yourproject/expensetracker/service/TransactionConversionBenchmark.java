@@ -0,0 +1,41 @@
+package com.yourproject.expensetracker.service;
+
+import com.yourproject.expensetracker.BenchmarkFixtures;
+import com.yourproject.expensetracker.dto.TransactionDto;
+import com.yourproject.expensetracker.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping done for every row a transaction endpoint returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionConversionBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private TransactionService transactionService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        transactionService = new TransactionService();
+        transactions = BenchmarkFixtures.transactions(rows);
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            TransactionDto dto = transactionService.convertToDto(transaction, "Groceries");
+            blackhole.consume(dto);
+        }
+    }
+}
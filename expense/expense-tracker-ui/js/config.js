@@ -7,14 +7,60 @@ const API_ENDPOINTS = {
     },
     TRANSACTIONS: {
         BASE: `${API_BASE_URL}/transactions`,
-        SUMMARY: `${API_BASE_URL}/transactions/summary`
+        SUMMARY: `${API_BASE_URL}/transactions/summary`,
+        SEARCH: `${API_BASE_URL}/transactions/search`
     },
     CATEGORIES: {
         BASE: `${API_BASE_URL}/categories`
-    }
+    },
+    RECURRING_RULES: `${API_BASE_URL}/recurring-rules`,
+    BUDGETS: {
+        BASE: `${API_BASE_URL}/budgets`,
+        ALERTS: `${API_BASE_URL}/budgets/alerts`
+    },
+    EVENTS: `${API_BASE_URL}/events`,
+    EVENT_TICKET: `${API_BASE_URL}/events/ticket`
 };
 
 const getAuthHeaders = () => {
     const token = localStorage.getItem('token');
     return token ? { 'Authorization': `Bearer ${token}` } : {};
-};
\ No newline at end of file
+};
+// Live changes pushed by the server after each committed write. onChange receives the parsed
+// event; onResync runs after a reconnect, since events sent while disconnected were missed.
+const openChangeStream = (onChange, onResync) => {
+    const token = localStorage.getItem('token');
+    if (!token || typeof EventSource === 'undefined') return null;
+
+    let connectedBefore = false;
+    let source = null;
+    const connect = async () => {
+        // The stream is opened with a single-use ticket so the bearer token never goes in a URL
+        let ticket;
+        try {
+            const response = await fetch(API_ENDPOINTS.EVENT_TICKET, { method: 'POST', headers: getAuthHeaders() });
+            if (!response.ok) throw new Error(`Ticket request failed with ${response.status}`);
+            ticket = (await response.json()).ticket;
+        } catch (error) {
+            setTimeout(connect, 30000);
+            return;
+        }
+        const current = new EventSource(`${API_ENDPOINTS.EVENTS}?ticket=${encodeURIComponent(ticket)}`);
+        let opened = false;
+        source = current;
+        current.onopen = () => {
+            if (connectedBefore) onResync();
+            connectedBefore = true;
+            opened = true;
+        };
+        current.onmessage = (message) => onChange(JSON.parse(message.data));
+        current.onerror = () => {
+            // The browser's own retry would reuse the spent ticket, so reconnect with a new one;
+            // soon after a dropped stream, later after a refused one (e.g. 503)
+            current.close();
+            setTimeout(connect, opened ? 3000 : 30000);
+        };
+    };
+    connect();
+    return { isOpen: () => source !== null && source.readyState === EventSource.OPEN };
+};
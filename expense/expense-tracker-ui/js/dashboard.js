@@ -1,6 +1,9 @@
 let transactions = [];
 let categories = [];
 let monthlyChart, categoryChart;
+let reloadTimer = null;
+let listReloadPending = false;
+let budgetAlerts = [];
 
 document.addEventListener('DOMContentLoaded', function() {
     if (!checkAuth()) return;
@@ -11,9 +14,53 @@ document.addEventListener('DOMContentLoaded', function() {
     loadSummary();
     updateMonthlyIncomeDisplay();
     checkDashboardReminder();
+    loadBudgetAlerts();
     initializeCharts();
+    openChangeStream(applyChange, () => {
+        loadCategories();
+        loadTransactions();
+        loadSummary();
+        loadBudgetAlerts();
+    });
 });
 
+// Pushed changes update the totals in place; the recent list and charts reload only when the
+// change can affect them, and bursts of changes collapse into one reload
+function applyChange(change) {
+    if (change.type === 'budget.alert') {
+        budgetAlerts = budgetAlerts.filter(a => a.id !== change.alert.id);
+        budgetAlerts.unshift(change.alert);
+        displayBudgetAlerts();
+        return;
+    }
+    if (change.summary) {
+        displaySummary(change.summary);
+    }
+    if (change.type.startsWith('category.')) {
+        loadCategories();
+        return;
+    }
+    const shown = transactions.some(t => t.id === change.transactionId);
+    if (change.type === 'transaction.created' && transactions.length >= 5
+            && change.transaction.date < transactions[transactions.length - 1].date) {
+        // Older than everything in the recent list, so only the charts move
+        scheduleReload(false);
+    } else {
+        scheduleReload(change.type !== 'transaction.deleted' || shown);
+    }
+}
+
+function scheduleReload(listChanged) {
+    listReloadPending = listReloadPending || listChanged;
+    clearTimeout(reloadTimer);
+    reloadTimer = setTimeout(() => {
+        // loadTransactions redraws the charts as well
+        const reload = listReloadPending ? loadTransactions : updateCharts;
+        listReloadPending = false;
+        reload();
+    }, 500);
+}
+
 function loadUserInfo() {
     const user = JSON.parse(localStorage.getItem('user'));
     if (user) {
@@ -34,10 +81,12 @@ async function loadCategories() {
 
 async function loadTransactions() {
     try {
+        // Only the five most recent rows are shown, so fetch just the first page
         const response = await axios.get(API_ENDPOINTS.TRANSACTIONS.BASE, {
-            headers: getAuthHeaders()
+            headers: getAuthHeaders(),
+            params: { limit: 5 }
         });
-        transactions = response.data;
+        transactions = response.data.items;
         displayTransactions();
         updateCharts();
     } catch (error) {
@@ -172,20 +221,53 @@ function initializeCharts() {
     });
 }
 
-function updateCharts() {
-    // Update category chart with actual data
-    const expensesByCategory = {};
-    transactions.filter(t => t.type === 'EXPENSE').forEach(t => {
-        const categoryName = t.categoryName || 'Unknown';
-        expensesByCategory[categoryName] = (expensesByCategory[categoryName] || 0) + parseFloat(t.amount);
-    });
-    
-    const labels = Object.keys(expensesByCategory);
-    const data = Object.values(expensesByCategory);
-    
-    categoryChart.data.labels = labels;
-    categoryChart.data.datasets[0].data = data;
-    categoryChart.update();
+async function updateCharts() {
+    // Totals are aggregated server-side from monthly rollups instead of the full transaction list
+    const today = new Date();
+    const firstMonth = new Date(today.getFullYear(), today.getMonth() - 5, 1);
+    const lastDay = new Date(today.getFullYear(), today.getMonth() + 1, 0);
+
+    try {
+        const [monthly, byCategory] = await Promise.all([
+            axios.get(API_ENDPOINTS.TRANSACTIONS.SUMMARY, {
+                headers: getAuthHeaders(),
+                params: { from: toIsoDate(firstMonth), to: toIsoDate(lastDay), groupBy: 'month' }
+            }),
+            axios.get(API_ENDPOINTS.TRANSACTIONS.SUMMARY, {
+                headers: getAuthHeaders(),
+                params: { groupBy: 'category' }
+            })
+        ]);
+
+        const monthBuckets = {};
+        monthly.data.buckets.forEach(bucket => monthBuckets[bucket.key] = bucket);
+        const labels = [];
+        const income = [];
+        const expenses = [];
+        for (let i = 0; i < 6; i++) {
+            const month = new Date(firstMonth.getFullYear(), firstMonth.getMonth() + i, 1);
+            const key = `${month.getFullYear()}-${String(month.getMonth() + 1).padStart(2, '0')}`;
+            const bucket = monthBuckets[key];
+            labels.push(month.toLocaleDateString('en-US', { month: 'short' }));
+            income.push(bucket ? parseFloat(bucket.income) : 0);
+            expenses.push(bucket ? parseFloat(bucket.expense) : 0);
+        }
+        monthlyChart.data.labels = labels;
+        monthlyChart.data.datasets[0].data = income;
+        monthlyChart.data.datasets[1].data = expenses;
+        monthlyChart.update();
+
+        const expenseBuckets = byCategory.data.buckets.filter(bucket => parseFloat(bucket.expense) > 0);
+        categoryChart.data.labels = expenseBuckets.map(bucket => bucket.categoryName || 'Unknown');
+        categoryChart.data.datasets[0].data = expenseBuckets.map(bucket => parseFloat(bucket.expense));
+        categoryChart.update();
+    } catch (error) {
+        showMessage('Failed to load charts', 'error');
+    }
+}
+
+function toIsoDate(date) {
+    return `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}-${String(date.getDate()).padStart(2, '0')}`;
 }
 
 function showMonthlyIncomeModal() {
@@ -260,6 +342,51 @@ function checkDashboardReminder() {
     }
 }
 
+async function loadBudgetAlerts() {
+    try {
+        const response = await axios.get(`${API_ENDPOINTS.BUDGETS.ALERTS}?unread=true`, {
+            headers: getAuthHeaders()
+        });
+        budgetAlerts = response.data;
+        displayBudgetAlerts();
+    } catch (error) {
+        console.error('Error loading budget alerts:', error);
+    }
+}
+
+function displayBudgetAlerts() {
+    const alertsEl = document.getElementById('budgetAlerts');
+    if (!alertsEl) return;
+
+    alertsEl.innerHTML = budgetAlerts.map(alert => `
+        <div class="reminder-banner">
+            <div class="reminder-content">
+                <svg width="24" height="24" viewBox="0 0 24 24" fill="none" stroke="#ffc107" stroke-width="2">
+                    <circle cx="12" cy="12" r="10"/>
+                    <line x1="12" y1="8" x2="12" y2="12"/>
+                    <line x1="12" y1="16" x2="12.01" y2="16"/>
+                </svg>
+                <span><strong>Budget Alert:</strong> ${escapeHtml(alert.message)}
+                    (₹${parseFloat(alert.spent).toFixed(2)} of ₹${parseFloat(alert.budgetAmount).toFixed(2)})</span>
+            </div>
+            <button onclick="dismissBudgetAlert(${alert.id})" class="btn-small">Dismiss</button>
+        </div>
+    `).join('');
+}
+
+async function dismissBudgetAlert(id) {
+    try {
+        await axios.post(`${API_ENDPOINTS.BUDGETS.ALERTS}/${id}/read`, null, {
+            headers: getAuthHeaders()
+        });
+        budgetAlerts = budgetAlerts.filter(a => a.id !== id);
+        displayBudgetAlerts();
+    } catch (error) {
+        console.error('Error dismissing budget alert:', error);
+        showMessage('Failed to dismiss alert', 'error');
+    }
+}
+
 // Close modal when clicking outside
 window.onclick = function(event) {
     const monthlyModal = document.getElementById('monthlyIncomeModal');
@@ -1,6 +1,8 @@
 let transactions = [];
 let categories = [];
 let currentEditId = null;
+let changeStream = null;
+let reloadTimer = null;
 
 document.addEventListener('DOMContentLoaded', function() {
     if (!checkAuth()) return;
@@ -9,8 +11,62 @@ document.addEventListener('DOMContentLoaded', function() {
     loadCategories();
     loadTransactions();
     loadSummary();
+    changeStream = openChangeStream(applyChange, reloadAll);
 });
 
+function reloadAll() {
+    loadCategories();
+    loadTransactions();
+    loadSummary();
+}
+
+// Patches local state from a pushed change instead of re-fetching everything
+function applyChange(change) {
+    switch (change.type) {
+        case 'transaction.created':
+        case 'transaction.updated':
+            transactions = transactions.filter(t => t.id !== change.transactionId);
+            transactions.push(change.transaction);
+            transactions.sort(compareTransactions);
+            displayTransactions();
+            displaySummary(change.summary);
+            break;
+        case 'transaction.deleted':
+            transactions = transactions.filter(t => t.id !== change.transactionId);
+            displayTransactions();
+            displaySummary(change.summary);
+            break;
+        case 'transactions.changed':
+            // Batches and imports can touch many rows; imports send one event per chunk
+            clearTimeout(reloadTimer);
+            reloadTimer = setTimeout(loadTransactions, 500);
+            displaySummary(change.summary);
+            break;
+        case 'budget.alert':
+            showMessage(change.alert.message, 'error');
+            break;
+        default:
+            if (change.type.startsWith('category.')) {
+                loadCategories();
+                if (change.type === 'category.updated') {
+                    transactions.filter(t => t.categoryId === change.categoryId)
+                        .forEach(t => t.categoryName = change.category.name);
+                    displayTransactions();
+                }
+            }
+    }
+}
+
+// Newest first, matching the order the API returns
+function compareTransactions(a, b) {
+    if (a.date !== b.date) return a.date < b.date ? 1 : -1;
+    return b.id - a.id;
+}
+
+function streamIsLive() {
+    return changeStream !== null && changeStream.isOpen();
+}
+
 function loadUserInfo() {
     const user = JSON.parse(localStorage.getItem('user'));
     if (user) {
@@ -201,8 +257,10 @@ async function saveTransaction(event) {
         }
         
         resetForm();
-        loadTransactions();
-        loadSummary();
+        if (!streamIsLive()) {
+            loadTransactions();
+            loadSummary();
+        }
     } catch (error) {
         const message = error.response?.data?.error || 'Failed to save transaction';
         showMessage(message, 'error');
@@ -232,8 +290,10 @@ async function deleteTransaction(id) {
             headers: getAuthHeaders()
         });
         showMessage('Transaction deleted successfully', 'success');
-        loadTransactions();
-        loadSummary();
+        if (!streamIsLive()) {
+            loadTransactions();
+            loadSummary();
+        }
     } catch (error) {
         showMessage('Failed to delete transaction', 'error');
     }
@@ -1,198 +1,270 @@
+// Monthly income is posted by the server from a recurring rule; this page creates, edits and
+// removes that rule. Its id is remembered so the page finds the same rule next time.
+const SALARY_DESCRIPTION = 'Monthly salary';
+
+let salaryRule = null;
+let budgets = [];
+
 document.addEventListener('DOMContentLoaded', function() {
     if (!checkAuth()) return;
     loadSettings();
-    checkIncomeReminder();
-    
-    // Check for reminders every day
-    setInterval(checkIncomeReminder, 24 * 60 * 60 * 1000); // Check daily
+    loadBudgets();
 });
 
-function loadSettings() {
-    const monthlyAmount = localStorage.getItem('monthlyIncome') || '';
-    const incomeDay = localStorage.getItem('incomeDay') || '1';
-    const lowBalanceAlert = localStorage.getItem('lowBalanceAlert') || '100';
-    const enableReminders = localStorage.getItem('enableReminders') === 'true';
-    
-    document.getElementById('monthlyAmount').value = monthlyAmount;
-    document.getElementById('incomeDay').value = incomeDay;
-    document.getElementById('lowBalanceAlert').value = lowBalanceAlert;
-    document.getElementById('enableReminders').checked = enableReminders;
+async function loadSettings() {
+    document.getElementById('lowBalanceAlert').value = localStorage.getItem('lowBalanceAlert') || '100';
+
+    try {
+        salaryRule = await findSalaryRule();
+    } catch (error) {
+        console.error('Error loading recurring rules:', error);
+    }
+
+    document.getElementById('monthlyAmount').value = salaryRule
+        ? salaryRule.amount : (localStorage.getItem('monthlyIncome') || '');
+    document.getElementById('incomeDay').value = salaryRule
+        ? salaryDay(salaryRule) : (localStorage.getItem('incomeDay') || '1');
+    document.getElementById('enableReminders').checked = salaryRule !== null;
+    checkIncomeReminder();
 }
 
-function saveMonthlyIncomeSettings(event) {
+async function findSalaryRule() {
+    const response = await axios.get(API_ENDPOINTS.RECURRING_RULES, {
+        headers: getAuthHeaders()
+    });
+    const savedId = localStorage.getItem('salaryRuleId');
+    return response.data.find(rule => String(rule.id) === savedId)
+        || response.data.find(rule => rule.type === 'INCOME' && rule.frequency === 'MONTHLY'
+            && rule.description === SALARY_DESCRIPTION)
+        || null;
+}
+
+async function saveMonthlyIncomeSettings(event) {
     event.preventDefault();
-    
+
     const monthlyAmount = document.getElementById('monthlyAmount').value;
-    const incomeDay = document.getElementById('incomeDay').value;
+    const incomeDay = parseInt(document.getElementById('incomeDay').value);
     const lowBalanceAlert = document.getElementById('lowBalanceAlert').value;
     const enableReminders = document.getElementById('enableReminders').checked;
-    
+
     localStorage.setItem('monthlyIncome', monthlyAmount);
     localStorage.setItem('incomeDay', incomeDay);
     localStorage.setItem('lowBalanceAlert', lowBalanceAlert);
     localStorage.setItem('enableReminders', enableReminders);
-    
-    // Request notification permission if reminders are enabled
-    if (enableReminders && 'Notification' in window && Notification.permission === 'default') {
-        Notification.requestPermission();
+
+    try {
+        if (enableReminders) {
+            const incomeCategory = await getSalaryCategory();
+            const ruleData = {
+                categoryId: incomeCategory.id,
+                amount: parseFloat(monthlyAmount),
+                description: SALARY_DESCRIPTION,
+                type: 'INCOME',
+                frequency: 'MONTHLY',
+                startDate: firstSalaryDate(incomeDay)
+            };
+            const response = salaryRule
+                ? await axios.put(`${API_ENDPOINTS.RECURRING_RULES}/${salaryRule.id}`, ruleData, { headers: getAuthHeaders() })
+                : await axios.post(API_ENDPOINTS.RECURRING_RULES, ruleData, { headers: getAuthHeaders() });
+            salaryRule = response.data;
+            localStorage.setItem('salaryRuleId', salaryRule.id);
+        } else if (salaryRule) {
+            await axios.delete(`${API_ENDPOINTS.RECURRING_RULES}/${salaryRule.id}`, {
+                headers: getAuthHeaders()
+            });
+            salaryRule = null;
+            localStorage.removeItem('salaryRuleId');
+        }
+        showMessage('Settings saved successfully! 💾', 'success');
+    } catch (error) {
+        console.error('Error saving monthly income:', error);
+        showMessage('Failed to save settings: ' + (error.response?.data?.error || error.message), 'error');
     }
-    
-    showMessage('Settings saved successfully! 💾', 'success');
     checkIncomeReminder();
 }
 
+async function getSalaryCategory() {
+    const response = await axios.get(API_ENDPOINTS.CATEGORIES.BASE, {
+        headers: getAuthHeaders()
+    });
+
+    const incomeCategory = response.data.find(cat =>
+        cat.type === 'INCOME' && cat.name.toLowerCase() === 'salary'
+    );
+    if (incomeCategory) {
+        return incomeCategory;
+    }
+
+    const createResponse = await axios.post(API_ENDPOINTS.CATEGORIES.BASE,
+        { name: 'Salary', type: 'INCOME' },
+        { headers: getAuthHeaders() }
+    );
+    return createResponse.data;
+}
+
+// This month's salary day, or next month's if this month's salary is already in. A day that is
+// already past posts straight away, like the old "Add This Month's Income" button did.
+function firstSalaryDate(incomeDay) {
+    const today = new Date();
+    const currentMonth = monthKey(today);
+    const postedThisMonth = salaryRule
+        ? salaryRule.lastOccurrence && monthKey(parseDate(salaryRule.lastOccurrence)) === currentMonth
+        : localStorage.getItem('lastIncomeMonth') === currentMonth;
+
+    const year = today.getFullYear();
+    const month = today.getMonth() + (postedThisMonth ? 1 : 0);
+    const lastDay = new Date(year, month + 1, 0).getDate();
+    const date = new Date(year, month, Math.min(incomeDay, lastDay));
+    return `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}-${String(date.getDate()).padStart(2, '0')}`;
+}
+
 function checkIncomeReminder() {
-    const enableReminders = localStorage.getItem('enableReminders') === 'true';
-    const monthlyAmount = localStorage.getItem('monthlyIncome');
-    const incomeDay = parseInt(localStorage.getItem('incomeDay') || '1');
-    const lastIncomeMonth = localStorage.getItem('lastIncomeMonth');
-    
     const reminderBox = document.getElementById('incomeReminder');
-    const addIncomeBtn = document.getElementById('addIncomeBtn');
-    
-    if (!enableReminders || !monthlyAmount) {
-        if (reminderBox) {
-            reminderBox.innerHTML = '<p>Enable reminders and set monthly income to get notifications</p>';
-        }
-        if (addIncomeBtn) {
-            addIncomeBtn.style.display = 'none';
-        }
+    const today = new Date();
+    const currentMonth = monthKey(today);
+    const postedThisMonth = salaryRule && salaryRule.lastOccurrence
+        && monthKey(parseDate(salaryRule.lastOccurrence)) === currentMonth;
+
+    if (postedThisMonth) {
+        // Keeps the dashboard reminders, which read this flag, quiet once the server has posted
+        localStorage.setItem('lastIncomeMonth', currentMonth);
+    }
+    // The server posts the salary, so the dashboard never needs to ask for it
+    localStorage.setItem('reminderStatus', JSON.stringify({
+        enableReminders: salaryRule !== null,
+        monthlyAmount: salaryRule ? salaryRule.amount : null,
+        shouldShowReminder: false
+    }));
+
+    if (!reminderBox) return;
+
+    if (!salaryRule) {
+        reminderBox.innerHTML = '<p>Set your monthly income and turn on automatic posting to have it added every month</p>';
         return;
     }
-    
-    const today = new Date();
-    const currentMonth = today.getFullYear() + '-' + (today.getMonth() + 1);
-    const currentDay = today.getDate();
-    
-    // Store reminder status for dashboard
-    const reminderData = {
-        enableReminders,
-        monthlyAmount,
-        incomeDay,
-        lastIncomeMonth,
-        currentMonth,
-        currentDay,
-        shouldShowReminder: currentDay >= incomeDay && lastIncomeMonth !== currentMonth
-    };
-    localStorage.setItem('reminderStatus', JSON.stringify(reminderData));
-    
-    if (!reminderBox) return; // Exit if not on settings page
-    
-    // Check if income for this month is already added
-    if (lastIncomeMonth === currentMonth) {
+
+    const amount = parseFloat(salaryRule.amount).toFixed(2);
+    if (postedThisMonth) {
         reminderBox.innerHTML = `
             <div class="reminder-success">
                 <svg width="24" height="24" viewBox="0 0 24 24" fill="none" stroke="#00ff88" stroke-width="2">
                     <polyline points="20,6 9,17 4,12"/>
                 </svg>
-                Monthly salary for ${getMonthName(today.getMonth())} already added!
-                <br><small>Amount: ₹${parseFloat(monthlyAmount).toFixed(2)}</small>
+                Monthly salary for ${getMonthName(today.getMonth())} was added automatically!
+                <br><small>Amount: ₹${amount}</small>
             </div>
         `;
-        addIncomeBtn.style.display = 'none';
         return;
     }
-    
-    // Check if it's time for income reminder
-    if (currentDay >= incomeDay) {
-        reminderBox.innerHTML = `
-            <div class="reminder-alert">
-                <svg width="24" height="24" viewBox="0 0 24 24" fill="none" stroke="#ffc107" stroke-width="2">
-                    <path d="M6 8a6 6 0 0 1 12 0c0 7 3 9 3 9H3s3-2 3-9"/>
-                    <path d="M10.3 21a1.94 1.94 0 0 0 3.4 0"/>
-                </svg>
-                Time to add your monthly salary!
-                <br><strong>Amount: ₹${parseFloat(monthlyAmount).toFixed(2)}</strong>
-                <br><small>Salary day: ${incomeDay} of each month</small>
-            </div>
-        `;
-        addIncomeBtn.style.display = 'block';
-        
-        // Show browser notification if supported
-        if ('Notification' in window && Notification.permission === 'granted') {
-            new Notification('Salary Reminder', {
-                body: `Time to add your monthly salary of ₹${parseFloat(monthlyAmount).toFixed(2)}!`,
-                icon: '/favicon.ico'
-            });
-        }
-    } else {
-        const daysLeft = incomeDay - currentDay;
-        reminderBox.innerHTML = `
-            <div class="reminder-info">
-                <svg width="24" height="24" viewBox="0 0 24 24" fill="none" stroke="#4facfe" stroke-width="2">
-                    <rect x="3" y="4" width="18" height="18" rx="2" ry="2"/>
-                    <line x1="16" y1="2" x2="16" y2="6"/>
-                    <line x1="8" y1="2" x2="8" y2="6"/>
-                    <line x1="3" y1="10" x2="21" y2="10"/>
-                </svg>
-                Next salary in ${daysLeft} day${daysLeft > 1 ? 's' : ''}
-                <br><strong>Amount: ₹${parseFloat(monthlyAmount).toFixed(2)}</strong>
-                <br><small>Salary day: ${incomeDay} of each month</small>
-            </div>
-        `;
-        addIncomeBtn.style.display = 'none';
+
+    const next = salaryRule.nextOccurrence ? parseDate(salaryRule.nextOccurrence) : null;
+    reminderBox.innerHTML = `
+        <div class="reminder-info">
+            <svg width="24" height="24" viewBox="0 0 24 24" fill="none" stroke="#4facfe" stroke-width="2">
+                <rect x="3" y="4" width="18" height="18" rx="2" ry="2"/>
+                <line x1="16" y1="2" x2="16" y2="6"/>
+                <line x1="8" y1="2" x2="8" y2="6"/>
+                <line x1="3" y1="10" x2="21" y2="10"/>
+            </svg>
+            ${next ? `Next salary is added on ${next.getDate()} ${getMonthName(next.getMonth())}` : 'Salary posting has ended'}
+            <br><strong>Amount: ₹${amount}</strong>
+            <br><small>Salary day: ${salaryDay(salaryRule)} of each month</small>
+        </div>
+    `;
+}
+
+async function loadBudgets() {
+    try {
+        const [categoriesResponse, budgetsResponse] = await Promise.all([
+            axios.get(API_ENDPOINTS.CATEGORIES.BASE, { headers: getAuthHeaders() }),
+            axios.get(API_ENDPOINTS.BUDGETS.BASE, { headers: getAuthHeaders() })
+        ]);
+        const select = document.getElementById('budgetCategory');
+        select.innerHTML = '<option value="">All Spending</option>' + categoriesResponse.data
+            .filter(cat => cat.type === 'EXPENSE')
+            .map(cat => `<option value="${cat.id}">${escapeHtml(cat.name)}</option>`)
+            .join('');
+        budgets = budgetsResponse.data;
+        displayBudgets();
+    } catch (error) {
+        console.error('Error loading budgets:', error);
     }
 }
 
-async function addMonthlyIncome() {
-    const monthlyAmount = localStorage.getItem('monthlyIncome');
-    
-    if (!monthlyAmount) {
-        showMessage('Please set monthly income amount first', 'error');
+function displayBudgets() {
+    const listEl = document.getElementById('budgetList');
+    if (budgets.length === 0) {
+        listEl.innerHTML = '<p>No budgets yet</p>';
         return;
     }
-    
+    listEl.innerHTML = budgets.map(budget => `
+        <div class="${budget.percentUsed >= 100 ? 'reminder-alert' : 'reminder-info'}" style="margin-bottom: 10px;">
+            <div style="flex: 1; text-align: left;">
+                <strong>${budget.categoryId === null ? 'All Spending' : escapeHtml(budget.categoryName || 'Deleted category')}</strong>
+                <br><small>₹${parseFloat(budget.spent).toFixed(2)} of ₹${parseFloat(budget.amount).toFixed(2)} used this month (${budget.percentUsed}%)</small>
+            </div>
+            <button onclick="deleteBudget(${budget.id})" class="btn-delete">Delete</button>
+        </div>
+    `).join('');
+}
+
+// A category has at most one budget, so saving one that already has a budget changes its limit
+async function saveBudget(event) {
+    event.preventDefault();
+
+    const categoryValue = document.getElementById('budgetCategory').value;
+    const categoryId = categoryValue === '' ? null : parseInt(categoryValue);
+    const budgetData = {
+        categoryId: categoryId,
+        amount: parseFloat(document.getElementById('budgetAmount').value)
+    };
+    const existing = budgets.find(budget => budget.categoryId === categoryId);
+
     try {
-        // Get all categories
-        const response = await axios.get(API_ENDPOINTS.CATEGORIES.BASE, {
-            headers: getAuthHeaders()
-        });
-        
-        let incomeCategory = response.data.find(cat => 
-            cat.type === 'INCOME' && cat.name.toLowerCase() === 'salary'
-        );
-        
-        // Create salary category if it doesn't exist
-        if (!incomeCategory) {
-            console.log('Creating Salary category...');
-            const createResponse = await axios.post(API_ENDPOINTS.CATEGORIES.BASE, 
-                { name: 'Salary', type: 'INCOME' }, 
-                { headers: getAuthHeaders() }
-            );
-            incomeCategory = createResponse.data;
-            console.log('Salary category created:', incomeCategory);
+        if (existing) {
+            await axios.put(`${API_ENDPOINTS.BUDGETS.BASE}/${existing.id}`, budgetData, { headers: getAuthHeaders() });
+        } else {
+            await axios.post(API_ENDPOINTS.BUDGETS.BASE, budgetData, { headers: getAuthHeaders() });
         }
-        
-        const today = new Date();
-        const transactionData = {
-            categoryId: incomeCategory.id,
-            amount: parseFloat(monthlyAmount),
-            description: `Monthly salary - ${getMonthName(today.getMonth())} ${today.getFullYear()}`,
-            date: today.toISOString().split('T')[0],
-            type: 'INCOME'
-        };
-        
-        await axios.post(API_ENDPOINTS.TRANSACTIONS.BASE, transactionData, {
-            headers: getAuthHeaders()
-        });
-        
-        // Mark this month as income added
-        const currentMonth = today.getFullYear() + '-' + (today.getMonth() + 1);
-        localStorage.setItem('lastIncomeMonth', currentMonth);
-        
-        showMessage('Monthly salary added successfully! 💰', 'success');
-        checkIncomeReminder();
-        
+        document.getElementById('budgetAmount').value = '';
+        showMessage('Budget saved successfully! 💾', 'success');
+        loadBudgets();
+    } catch (error) {
+        console.error('Error saving budget:', error);
+        showMessage('Failed to save budget: ' + (error.response?.data?.error || error.message), 'error');
+    }
+}
+
+async function deleteBudget(id) {
+    if (!confirm('Delete this budget?')) return;
+    try {
+        await axios.delete(`${API_ENDPOINTS.BUDGETS.BASE}/${id}`, { headers: getAuthHeaders() });
+        budgets = budgets.filter(budget => budget.id !== id);
+        displayBudgets();
     } catch (error) {
-        console.error('Error adding monthly income:', error);
-        showMessage('Failed to add monthly income: ' + (error.response?.data?.message || error.message), 'error');
+        console.error('Error deleting budget:', error);
+        showMessage('Failed to delete budget', 'error');
     }
 }
 
+function salaryDay(rule) {
+    return parseDate(rule.startDate).getDate();
+}
+
+// yyyy-MM-dd as a local date; new Date('yyyy-MM-dd') would parse it as UTC midnight
+function parseDate(value) {
+    const [year, month, day] = value.split('-').map(Number);
+    return new Date(year, month - 1, day);
+}
+
+function monthKey(date) {
+    return date.getFullYear() + '-' + (date.getMonth() + 1);
+}
+
 function getMonthName(monthIndex) {
     const months = [
         'January', 'February', 'March', 'April', 'May', 'June',
         'July', 'August', 'September', 'October', 'November', 'December'
     ];
     return months[monthIndex];
-}
\ No newline at end of file
+}